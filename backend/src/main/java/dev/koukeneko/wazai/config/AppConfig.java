@@ -1,14 +1,22 @@
 package dev.koukeneko.wazai.config;
 
+import dev.koukeneko.wazai.service.resilience.UpstreamLimitInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import reactor.netty.http.client.HttpClient;
 
 @Configuration // 標記這是設定檔
 public class AppConfig {
 
     @Bean // 手動產生一個 Builder Bean 給 Spring 管理
-    public RestClient.Builder restClientBuilder() {
-        return RestClient.builder();
+    @Scope("prototype") // 每個 Provider 各拿一份，避免 baseUrl 互相覆蓋
+    public RestClient.Builder restClientBuilder(HttpClient httpClient, UpstreamLimitInterceptor upstreamLimits) {
+        // 共用 HttpClientConfig 的連線池、逾時與 DNS 快取，並依主機限流
+        return RestClient.builder()
+                .requestFactory(new ReactorClientHttpRequestFactory(httpClient))
+                .requestInterceptor(upstreamLimits);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing and expiry of the geocode cache shared by every GeocodingService.
+ *
+ * Results are persisted to the application database and the most recently resolved
+ * ones are loaded back into memory at startup.
+ *
+ * @param maxEntries maximum number of addresses kept in memory
+ * @param positiveTtl how long a resolved address stays valid
+ * @param negativeTtl how long an address that could not be resolved is not retried
+ */
+@ConfigurationProperties(prefix = "wazai.geocoding.cache")
+public record GeocodeCacheProperties(
+        Integer maxEntries,
+        Duration positiveTtl,
+        Duration negativeTtl
+) {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_POSITIVE_TTL = Duration.ofDays(90);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofDays(1);
+
+    public GeocodeCacheProperties {
+        maxEntries = maxEntries != null ? maxEntries : DEFAULT_MAX_ENTRIES;
+        positiveTtl = positiveTtl != null ? positiveTtl : DEFAULT_POSITIVE_TTL;
+        negativeTtl = negativeTtl != null ? negativeTtl : DEFAULT_NEGATIVE_TTL;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hedged requests for idempotent upstream API calls.
+ *
+ * When an attempt has not answered within the upstream's observed latency percentile,
+ * a second identical attempt is sent and whichever answers first is used. Hedges are
+ * paid for with credits that every request earns at {@code maxHedgeRatio}, so they can
+ * never add more than that share of extra load, even while the upstream is struggling.
+ *
+ * @param enabled whether hedged requests are sent at all
+ * @param percentile latency percentile after which a hedge is sent, 0..1
+ * @param minSamples successful requests needed before the percentile is trusted
+ * @param minDelay lower bound of the hedge delay
+ * @param maxHedgeRatio hedges allowed per request, 0..1
+ * @param maxBurst hedges that may be sent back to back from saved-up credits
+ */
+@ConfigurationProperties(prefix = "wazai.hedging")
+public record HedgingProperties(
+        Boolean enabled,
+        Double percentile,
+        Integer minSamples,
+        Duration minDelay,
+        Double maxHedgeRatio,
+        Integer maxBurst
+) {
+
+    private static final double DEFAULT_PERCENTILE = 0.95;
+    private static final int DEFAULT_MIN_SAMPLES = 20;
+    private static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(50);
+    private static final double DEFAULT_MAX_HEDGE_RATIO = 0.1;
+    private static final int DEFAULT_MAX_BURST = 5;
+
+    public HedgingProperties {
+        enabled = enabled != null ? enabled : true;
+        percentile = percentile != null ? percentile : DEFAULT_PERCENTILE;
+        minSamples = minSamples != null ? minSamples : DEFAULT_MIN_SAMPLES;
+        minDelay = minDelay != null ? minDelay : DEFAULT_MIN_DELAY;
+        maxHedgeRatio = maxHedgeRatio != null ? maxHedgeRatio : DEFAULT_MAX_HEDGE_RATIO;
+        maxBurst = maxBurst != null ? maxBurst : DEFAULT_MAX_BURST;
+    }
+}
@@ -0,0 +1,121 @@
+package dev.koukeneko.wazai.config;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.util.AttributeKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.Connection;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Reactor Netty client behind both {@link AppConfig}'s RestClient and
+ * {@link WebClientConfig}'s WebClient, so every upstream call shares one set of
+ * connection pools, timeouts and DNS cache.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientConfig.class);
+
+    private static final String POOL_NAME = "wazai";
+    private static final AttributeKey<RequestDeadline> REQUEST_DEADLINE = AttributeKey.valueOf("wazai.requestDeadline");
+
+    /**
+     * Reactor Netty keeps one pool per remote address, so the limits below apply to
+     * each upstream host separately.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(HttpClientProperties settings) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(settings.maxConnectionsPerHost())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .maxLifeTime(settings.maxLifeTime())
+                .evictInBackground(settings.maxIdleTime())
+                .lifo()
+                .build();
+    }
+
+    @Bean
+    public HttpClient httpClient(ConnectionProvider connectionProvider, HttpClientProperties settings) {
+        HttpProtocol[] protocols = settings.http2()
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeout().toMillis())
+                .responseTimeout(settings.readTimeout())
+                .protocol(protocols)
+                .compress(true)
+                .keepAlive(true)
+                .followRedirect(true)
+                .resolver(spec -> spec
+                        .cacheMaxTimeToLive(settings.dnsCacheTtl())
+                        .cacheNegativeTimeToLive(settings.dnsNegativeCacheTtl()))
+                .doOnRequest((request, connection) -> armDeadline(connection, settings.requestTimeout()))
+                .doAfterResponseSuccess((response, connection) -> disarmDeadline(connection));
+    }
+
+    /**
+     * Closes the connection if the exchange is still running after {@code timeout}, which
+     * fails the request however slowly the server keeps trickling bytes. A deadline left
+     * behind by an earlier exchange on this pooled connection is cancelled first.
+     */
+    private static void armDeadline(Connection connection, Duration timeout) {
+        Channel channel = connection.channel();
+        RequestDeadline deadline = new RequestDeadline(channel, timeout);
+        RequestDeadline previous = channel.attr(REQUEST_DEADLINE).getAndSet(deadline);
+        if (previous != null) {
+            previous.cancel();
+        }
+        deadline.task = channel.eventLoop().schedule(deadline, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void disarmDeadline(Connection connection) {
+        RequestDeadline deadline = connection.channel().attr(REQUEST_DEADLINE).getAndSet(null);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    /**
+     * The timeout task of one exchange. It only closes the channel while it is still the
+     * channel's current deadline, so a pooled connection that has moved on to another
+     * request is left alone even if cancelling came too late.
+     */
+    private static final class RequestDeadline implements Runnable {
+
+        private final Channel channel;
+        private final Duration timeout;
+        private volatile ScheduledFuture<?> task;
+
+        RequestDeadline(Channel channel, Duration timeout) {
+            this.channel = channel;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void run() {
+            if (channel.attr(REQUEST_DEADLINE).compareAndSet(this, null)) {
+                logger.debug("Closing {} after the {} request timeout", channel.remoteAddress(), timeout);
+                channel.close();
+            }
+        }
+
+        void cancel() {
+            ScheduledFuture<?> scheduled = task;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The HTTP client shared by every provider and geocoder.
+ *
+ * Connections are pooled per remote host and kept alive between requests, responses are
+ * requested compressed, HTTPS hosts are spoken to over HTTP/2 when they offer it, and DNS
+ * answers are cached, so a search does not pay a handshake or a lookup per request.
+ *
+ * @param connectTimeout time allowed to open a TCP connection
+ * @param readTimeout longest silence allowed while waiting for or reading a response
+ * @param requestTimeout time allowed for a whole exchange, from request to the last body byte
+ * @param maxConnectionsPerHost connections kept per remote host
+ * @param pendingAcquireTimeout how long a request may wait for a free pooled connection
+ * @param maxIdleTime idle time after which a pooled connection is closed
+ * @param maxLifeTime age after which a pooled connection is closed, so DNS changes are picked up
+ * @param http2 whether HTTP/2 is negotiated with HTTPS hosts that support it
+ * @param dnsCacheTtl upper bound for how long a DNS answer is cached
+ * @param dnsNegativeCacheTtl how long a failed DNS lookup is cached
+ */
+@ConfigurationProperties(prefix = "wazai.http")
+public record HttpClientProperties(
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration requestTimeout,
+        Integer maxConnectionsPerHost,
+        Duration pendingAcquireTimeout,
+        Duration maxIdleTime,
+        Duration maxLifeTime,
+        Boolean http2,
+        Duration dnsCacheTtl,
+        Duration dnsNegativeCacheTtl
+) {
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 16;
+    private static final Duration DEFAULT_PENDING_ACQUIRE_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_MAX_LIFE_TIME = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_DNS_CACHE_TTL = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_DNS_NEGATIVE_CACHE_TTL = Duration.ofSeconds(10);
+
+    public HttpClientProperties {
+        connectTimeout = connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT;
+        readTimeout = readTimeout != null ? readTimeout : DEFAULT_READ_TIMEOUT;
+        requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_REQUEST_TIMEOUT;
+        maxConnectionsPerHost = maxConnectionsPerHost != null ? maxConnectionsPerHost : DEFAULT_MAX_CONNECTIONS_PER_HOST;
+        pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : DEFAULT_PENDING_ACQUIRE_TIMEOUT;
+        maxIdleTime = maxIdleTime != null ? maxIdleTime : DEFAULT_MAX_IDLE_TIME;
+        maxLifeTime = maxLifeTime != null ? maxLifeTime : DEFAULT_MAX_LIFE_TIME;
+        http2 = http2 != null ? http2 : true;
+        dnsCacheTtl = dnsCacheTtl != null ? dnsCacheTtl : DEFAULT_DNS_CACHE_TTL;
+        dnsNegativeCacheTtl = dnsNegativeCacheTtl != null ? dnsNegativeCacheTtl : DEFAULT_DNS_NEGATIVE_CACHE_TTL;
+    }
+}
@@ -0,0 +1,101 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings for the background ingestion that keeps the event catalog fresh.
+ *
+ * Every value under {@code defaults} can be overridden per provider, keyed by
+ * provider name, e.g. {@code wazai.ingestion.providers[TechPlay].interval=30m}.
+ *
+ * Readiness waits until the critical providers have a catalog snapshot, but never longer
+ * than {@code warmupTimeout}, so one unreachable upstream cannot keep instances out of rotation.
+ *
+ * @param enabled whether catalog ingestion runs at all
+ * @param defaults schedule used by providers without an override
+ * @param providers per-provider schedule overrides
+ * @param criticalProviders providers whose catalog must be warm before the instance reports
+ *                          ready; empty means every ingested provider
+ * @param warmupTimeout how long after startup readiness waits for the critical catalogs
+ */
+@ConfigurationProperties(prefix = "wazai.ingestion")
+public record IngestionProperties(
+        Boolean enabled,
+        Schedule defaults,
+        Map<String, Schedule> providers,
+        Set<String> criticalProviders,
+        Duration warmupTimeout
+) {
+
+    private static final Duration DEFAULT_WARMUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Schedule BUILT_IN_DEFAULTS = new Schedule(
+            Duration.ofMinutes(15),
+            Duration.ofMinutes(1),
+            Duration.ofSeconds(30),
+            Duration.ofMinutes(30)
+    );
+
+    public IngestionProperties {
+        enabled = enabled == null || enabled;
+        defaults = BUILT_IN_DEFAULTS.overriddenBy(defaults);
+        providers = providers != null ? Map.copyOf(providers) : Map.of();
+        criticalProviders = criticalProviders != null ? Set.copyOf(criticalProviders) : Set.of();
+        warmupTimeout = warmupTimeout != null ? warmupTimeout : DEFAULT_WARMUP_TIMEOUT;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resolves the effective schedule for a provider.
+     *
+     * @param providerName the provider's display name
+     * @return the defaults with any provider-specific overrides applied
+     */
+    public Schedule scheduleFor(String providerName) {
+        return defaults.overriddenBy(providers.get(providerName));
+    }
+
+    /**
+     * Refresh schedule for a single provider.
+     *
+     * @param interval time between successful refreshes
+     * @param jitter maximum random delay added to each refresh to spread upstream load
+     * @param initialBackoff delay before the first retry after a failed refresh
+     * @param maxBackoff upper bound for the exponential retry delay
+     */
+    public record Schedule(
+            Duration interval,
+            Duration jitter,
+            Duration initialBackoff,
+            Duration maxBackoff
+    ) {
+
+        Schedule overriddenBy(Schedule override) {
+            if (override == null) {
+                return this;
+            }
+            return new Schedule(
+                    override.interval() != null ? override.interval() : interval,
+                    override.jitter() != null ? override.jitter() : jitter,
+                    override.initialBackoff() != null ? override.initialBackoff() : initialBackoff,
+                    override.maxBackoff() != null ? override.maxBackoff() : maxBackoff
+            );
+        }
+
+        /**
+         * Delay before the retry following the given number of consecutive failures.
+         */
+        public Duration backoffAfter(int consecutiveFailures) {
+            int exponent = Math.min(Math.max(consecutiveFailures - 1, 0), 20);
+            Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Concurrency limits for the HTML scrapers (currently TechPlay).
+ *
+ * Each stage has its own limit. Requests to the scraped host are additionally paced by
+ * the shared upstream limiter, see {@link UpstreamLimitProperties}.
+ *
+ * @param listingConcurrency listing pages fetched at the same time
+ * @param detailConcurrency detail pages fetched at the same time
+ */
+@ConfigurationProperties(prefix = "wazai.scraper")
+public record ScraperProperties(
+        Integer listingConcurrency,
+        Integer detailConcurrency
+) {
+
+    private static final int DEFAULT_LISTING_CONCURRENCY = 3;
+    private static final int DEFAULT_DETAIL_CONCURRENCY = 8;
+
+    public ScraperProperties {
+        listingConcurrency = listingConcurrency != null ? listingConcurrency : DEFAULT_LISTING_CONCURRENCY;
+        detailConcurrency = detailConcurrency != null ? detailConcurrency : DEFAULT_DETAIL_CONCURRENCY;
+    }
+}
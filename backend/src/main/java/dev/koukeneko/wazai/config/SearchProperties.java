@@ -0,0 +1,153 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Tuning knobs for the provider fan-out performed by WazaiSearchService.
+ *
+ * Per-provider budgets are keyed by provider name, e.g.
+ * {@code wazai.search.provider-timeouts[TechPlay]=6s}.
+ *
+ * @param timeout global deadline for a single search request
+ * @param providerTimeout default time budget granted to each provider
+ * @param providerTimeouts per-provider overrides of {@code providerTimeout}
+ * @param cache result cache for providers that are searched live
+ * @param dedupe merging of events listed by more than one provider
+ * @param breaker per-provider circuit breakers and adaptive timeouts
+ */
+@ConfigurationProperties(prefix = "wazai.search")
+public record SearchProperties(
+        Duration timeout,
+        Duration providerTimeout,
+        Map<String, Duration> providerTimeouts,
+        Cache cache,
+        Dedupe dedupe,
+        Breaker breaker
+) {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(8);
+    private static final Duration DEFAULT_PROVIDER_TIMEOUT = Duration.ofSeconds(5);
+
+    public SearchProperties {
+        timeout = timeout != null ? timeout : DEFAULT_TIMEOUT;
+        providerTimeout = providerTimeout != null ? providerTimeout : DEFAULT_PROVIDER_TIMEOUT;
+        providerTimeouts = providerTimeouts != null ? Map.copyOf(providerTimeouts) : Map.of();
+        cache = cache != null ? cache : new Cache(null, null, null);
+        dedupe = dedupe != null ? dedupe : new Dedupe(null, null, null, null);
+        breaker = breaker != null ? breaker : new Breaker(null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Result cache settings.
+     *
+     * @param ttl how long a cached result is served as fresh
+     * @param staleWhileRevalidate how long past {@code ttl} it is still served while one refresh runs
+     * @param maxEntries maximum number of cached queries
+     */
+    public record Cache(
+            Duration ttl,
+            Duration staleWhileRevalidate,
+            Integer maxEntries
+    ) {
+
+        private static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+        private static final Duration DEFAULT_STALE_WHILE_REVALIDATE = Duration.ofMinutes(5);
+        private static final int DEFAULT_MAX_ENTRIES = 500;
+
+        public Cache {
+            ttl = ttl != null ? ttl : DEFAULT_TTL;
+            staleWhileRevalidate = staleWhileRevalidate != null ? staleWhileRevalidate : DEFAULT_STALE_WHILE_REVALIDATE;
+            maxEntries = maxEntries != null ? maxEntries : DEFAULT_MAX_ENTRIES;
+        }
+    }
+
+    /**
+     * Cross-provider duplicate detection. Two events are merged when their normalized titles
+     * are similar enough, they start close together and, if both are located, they are near
+     * each other.
+     *
+     * @param enabled whether search results are deduplicated
+     * @param titleSimilarity minimum Jaccard similarity of the title trigrams, 0..1
+     * @param startTimeTolerance maximum difference between the start times
+     * @param maxDistanceKm maximum distance between the locations
+     */
+    public record Dedupe(
+            Boolean enabled,
+            Double titleSimilarity,
+            Duration startTimeTolerance,
+            Double maxDistanceKm
+    ) {
+
+        private static final double DEFAULT_TITLE_SIMILARITY = 0.5;
+        private static final Duration DEFAULT_START_TIME_TOLERANCE = Duration.ofHours(2);
+        // Some providers only know the city, so their coordinates are a city centroid
+        private static final double DEFAULT_MAX_DISTANCE_KM = 15;
+
+        public Dedupe {
+            enabled = enabled != null ? enabled : true;
+            titleSimilarity = titleSimilarity != null ? titleSimilarity : DEFAULT_TITLE_SIMILARITY;
+            startTimeTolerance = startTimeTolerance != null ? startTimeTolerance : DEFAULT_START_TIME_TOLERANCE;
+            maxDistanceKm = maxDistanceKm != null ? maxDistanceKm : DEFAULT_MAX_DISTANCE_KM;
+        }
+    }
+
+    /**
+     * Circuit breaker settings, shared by every live provider.
+     *
+     * A breaker opens when at least {@code failureRateThreshold} of the last
+     * {@code windowSize} calls failed or timed out, with at least {@code minimumCalls}
+     * recorded. After {@code openDuration} one probe call is let through; it closes the
+     * breaker on success and reopens it on failure. While closed, a provider's budget is
+     * shortened to {@code timeoutMultiplier} times its observed latency percentile, but
+     * never below {@code minTimeout}.
+     *
+     * @param failureRateThreshold share of failed calls that opens the breaker, 0..1
+     * @param windowSize number of recent calls considered
+     * @param minimumCalls calls needed before the failure rate or latency is trusted
+     * @param openDuration how long calls are rejected before probing
+     * @param timeoutPercentile latency percentile the adaptive timeout is based on, 0..1
+     * @param timeoutMultiplier headroom applied to that percentile
+     * @param minTimeout lower bound of the adaptive timeout
+     */
+    public record Breaker(
+            Double failureRateThreshold,
+            Integer windowSize,
+            Integer minimumCalls,
+            Duration openDuration,
+            Double timeoutPercentile,
+            Double timeoutMultiplier,
+            Duration minTimeout
+    ) {
+
+        private static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+        private static final int DEFAULT_WINDOW_SIZE = 20;
+        private static final int DEFAULT_MINIMUM_CALLS = 5;
+        private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+        private static final double DEFAULT_TIMEOUT_PERCENTILE = 0.95;
+        private static final double DEFAULT_TIMEOUT_MULTIPLIER = 2.0;
+        private static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofSeconds(1);
+
+        public Breaker {
+            failureRateThreshold = failureRateThreshold != null ? failureRateThreshold : DEFAULT_FAILURE_RATE_THRESHOLD;
+            windowSize = windowSize != null ? windowSize : DEFAULT_WINDOW_SIZE;
+            minimumCalls = minimumCalls != null ? Math.min(minimumCalls, windowSize) : Math.min(DEFAULT_MINIMUM_CALLS, windowSize);
+            openDuration = openDuration != null ? openDuration : DEFAULT_OPEN_DURATION;
+            timeoutPercentile = timeoutPercentile != null ? timeoutPercentile : DEFAULT_TIMEOUT_PERCENTILE;
+            timeoutMultiplier = timeoutMultiplier != null ? timeoutMultiplier : DEFAULT_TIMEOUT_MULTIPLIER;
+            minTimeout = minTimeout != null ? minTimeout : DEFAULT_MIN_TIMEOUT;
+        }
+    }
+
+    /**
+     * Resolves the time budget for the given provider.
+     *
+     * @param providerName the provider's display name
+     * @return the configured override, or the default provider budget
+     */
+    public Duration budgetFor(String providerName) {
+        return providerTimeouts.getOrDefault(providerName, providerTimeout);
+    }
+}
@@ -0,0 +1,82 @@
+package dev.koukeneko.wazai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Rate and concurrency limits for every upstream host the HTTP clients talk to.
+ *
+ * Every value under {@code defaults} can be overridden per host, keyed by host name,
+ * e.g. {@code wazai.upstream-limits.hosts[techplay.jp].requests-per-second=5}.
+ *
+ * @param enabled whether upstream requests are limited at all
+ * @param defaults limits used by hosts without an override
+ * @param hosts per-host limit overrides
+ */
+@ConfigurationProperties(prefix = "wazai.upstream-limits")
+public record UpstreamLimitProperties(
+        Boolean enabled,
+        Limits defaults,
+        Map<String, Limits> hosts
+) {
+
+    private static final Limits BUILT_IN_DEFAULTS = new Limits(20.0, 20, 8, 1, 32, 200);
+
+    public UpstreamLimitProperties {
+        enabled = enabled == null || enabled;
+        defaults = BUILT_IN_DEFAULTS.overriddenBy(defaults);
+        hosts = hosts != null ? Map.copyOf(hosts) : Map.of();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resolves the effective limits for a host.
+     *
+     * @param host the upstream host name
+     * @return the defaults with any host-specific overrides applied
+     */
+    public Limits limitsFor(String host) {
+        return defaults.overriddenBy(hosts.get(host));
+    }
+
+    /**
+     * Limits for a single upstream host.
+     *
+     * The token bucket caps the request rate; the concurrency limit starts at
+     * {@code initialConcurrency} and adapts between its bounds as latency changes.
+     *
+     * @param requestsPerSecond sustained request rate
+     * @param burst requests that may be sent back to back from saved-up tokens
+     * @param initialConcurrency requests in flight allowed before any latency is observed
+     * @param minConcurrency lower bound of the adaptive concurrency limit
+     * @param maxConcurrency upper bound of the adaptive concurrency limit
+     * @param maxQueued requests that may wait for a slot before new ones are rejected
+     */
+    public record Limits(
+            Double requestsPerSecond,
+            Integer burst,
+            Integer initialConcurrency,
+            Integer minConcurrency,
+            Integer maxConcurrency,
+            Integer maxQueued
+    ) {
+
+        Limits overriddenBy(Limits override) {
+            if (override == null) {
+                return this;
+            }
+            return new Limits(
+                    override.requestsPerSecond() != null ? override.requestsPerSecond() : requestsPerSecond,
+                    override.burst() != null ? override.burst() : burst,
+                    override.initialConcurrency() != null ? override.initialConcurrency() : initialConcurrency,
+                    override.minConcurrency() != null ? override.minConcurrency() : minConcurrency,
+                    override.maxConcurrency() != null ? override.maxConcurrency() : maxConcurrency,
+                    override.maxQueued() != null ? override.maxQueued() : maxQueued
+            );
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package dev.koukeneko.wazai.config;
 
+import dev.koukeneko.wazai.service.resilience.UpstreamLimitInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
 /**
  * Configuration for WebClient beans used by external API integrations.
+ *
+ * The builder is prototype-scoped: providers set their own base URL on it, which must
+ * not leak into the next provider's client.
  */
 @Configuration
 public class WebClientConfig {
@@ -15,7 +22,8 @@ public class WebClientConfig {
     private static final int MAX_BUFFER_SIZE_BYTES = MAX_BUFFER_SIZE_MB * 1024 * 1024;
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    @Scope("prototype")
+    public WebClient.Builder webClientBuilder(HttpClient httpClient, UpstreamLimitInterceptor upstreamLimits) {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(configurer -> configurer
                         .defaultCodecs()
@@ -23,6 +31,8 @@ public class WebClientConfig {
                 .build();
 
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(upstreamLimits)
                 .exchangeStrategies(strategies);
     }
 }
@@ -0,0 +1,79 @@
+package dev.koukeneko.wazai.controller;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.MapCluster;
+import dev.koukeneko.wazai.service.ClusterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * REST controller serving precomputed marker clusters for the map viewport.
+ * Lets the frontend render tens of cluster markers instead of every item in the catalog.
+ */
+@RestController
+@RequestMapping("/api/clusters")
+@Tag(name = "Clusters", description = "Zoom-aware marker clusters for a map viewport")
+public class ClusterController {
+
+    private final ClusterService clusterService;
+
+    public ClusterController(ClusterService clusterService) {
+        this.clusterService = clusterService;
+    }
+
+    /**
+     * Get the marker clusters visible in a viewport at a zoom level.
+     *
+     * @param bbox viewport as minLat,minLng,maxLat,maxLng
+     * @param zoom map zoom level
+     * @param country country filter: TW, JP, or ALL
+     * @return clusters inside the viewport, largest first
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get marker clusters",
+            description = """
+                    Returns hierarchical marker clusters for the viewport at the given zoom level.
+                    Each cluster carries its item count, centroid and a few representative items;
+                    a cluster with a count of one stands for a single item.
+
+                    Clusters are precomputed from the ingested event catalog for zoom levels 0-16
+                    (higher zoom levels use level 16). Live-only providers such as Meetup are not included.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved clusters"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box")
+    })
+    public List<MapCluster> getClusters(
+            @Parameter(
+                    description = "Viewport as minLat,minLng,maxLat,maxLng",
+                    example = "21.8,119.9,25.4,122.1",
+                    required = true
+            )
+            @RequestParam String bbox,
+            @Parameter(description = "Map zoom level", example = "8", required = true)
+            @RequestParam int zoom,
+            @Parameter(description = "Country filter: TW (Taiwan), JP (Japan), or ALL (default)", example = "ALL")
+            @RequestParam(defaultValue = "ALL") String country
+    ) {
+        BoundingBox box;
+        try {
+            box = BoundingBox.parse(bbox);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return clusterService.clusters(box, zoom, country);
+    }
+}
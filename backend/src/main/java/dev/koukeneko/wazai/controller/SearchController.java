@@ -1,5 +1,17 @@
 package dev.koukeneko.wazai.controller;
 
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.BreakerStatus;
+import dev.koukeneko.wazai.dto.CacheStats;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.DateRange;
+import dev.koukeneko.wazai.dto.GeoFilter;
+import dev.koukeneko.wazai.dto.PageCursor;
+import dev.koukeneko.wazai.dto.SearchCompletion;
+import dev.koukeneko.wazai.dto.SearchQuery;
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
+import dev.koukeneko.wazai.dto.SearchResult;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
 import dev.koukeneko.wazai.service.WazaiSearchService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,13 +22,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for searching map items (events and places) across all providers.
@@ -30,17 +54,38 @@ import java.util.Map;
 @Tag(name = "Search", description = "Search for events and places across multiple data sources")
 public class SearchController {
 
+    static final String PROVIDER_STATUS_HEADER = "X-Wazai-Provider-Status";
+    static final String PARTIAL_RESULTS_HEADER = "X-Wazai-Partial-Results";
+    static final String NEXT_CURSOR_HEADER = "X-Wazai-Next-Cursor";
+    static final String TOTAL_ITEMS_HEADER = "X-Wazai-Total-Items";
+    static final String BATCH_EVENT = "batch";
+    static final String COMPLETE_EVENT = "complete";
+
+    // Streams end on their own at the search deadline; this only guards against a stuck connection
+    private static final Duration STREAM_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
     private final WazaiSearchService searchService;
+    private final SearchProperties searchProperties;
 
-    public SearchController(WazaiSearchService searchService) {
+    public SearchController(WazaiSearchService searchService, SearchProperties searchProperties) {
         this.searchService = searchService;
+        this.searchProperties = searchProperties;
     }
 
     /**
      * Search for map items (events and places) across all registered providers.
      *
      * @param keyword the search term (optional, returns all items if omitted)
-     * @return list of map items from all providers in unified format
+     * @param bbox viewport as minLat,minLng,maxLat,maxLng (optional)
+     * @param near center point as lat,lng (optional)
+     * @param radiusKm maximum distance from {@code near} in kilometers (optional)
+     * @param from earliest event start date, inclusive (optional)
+     * @param to latest event start date, inclusive (optional)
+     * @param sort result ordering: provider order (default), startTime, distance or relevance
+     * @param limit page size (optional, returns every item if omitted)
+     * @param cursor position of the previous page's last item (optional)
+     * @return list of map items from all providers in unified format, with per-provider
+     *         outcomes reported in the response headers
      */
     @GetMapping
     @Operation(
@@ -68,9 +113,35 @@ public class SearchController {
                     - `ALL` (default): Search all providers
                     - Specific name (case-insensitive partial match): e.g., `connpass`, `taiwan`
 
+                    **Viewport / Radius Filtering:**
+                    - `bbox=minLat,minLng,maxLat,maxLng`: Only items inside the map viewport
+                    - `near=lat,lng&radiusKm=5`: Only items within the radius of the point
+                    - `sort=distance`: Nearest first, measured from `near` or the `bbox` center
+
+                    **Sorting and Paging:**
+                    - `sort=startTime`: Earliest first; places and undated events last
+                    - `sort=relevance`: Best keyword match first (title before description), then earliest
+                    - `limit=50`: Return one page. Pages without an explicit sort are ordered by `startTime`.
+                    - `cursor=...`: Next page, from the `X-Wazai-Next-Cursor` header of the previous one.
+                      The header is absent on the last page, and `X-Wazai-Total-Items` holds the total.
+                      Cursors mark a position in the order rather than an offset, so paging stays
+                      consistent while the catalog refreshes.
+
+                    **Date Filtering:**
+                    - `from=2026-11-01&to=2026-11-30`: Only events starting within the range (inclusive).
+                      Either bound may be omitted; places are not affected.
+
                     **Returns:**
                     - Events with start/end times (conferences, meetups)
                     - Places with business hours (clinics, cafes)
+
+                    **Partial Results:**
+                    Providers are queried concurrently with per-provider deadlines. Providers that
+                    fail or miss their deadline are left out, and each provider's outcome
+                    (`OK`, `FAILED`, `TIMED_OUT`, `SKIPPED`, `CIRCUIT_OPEN`) is reported in the
+                    `X-Wazai-Provider-Status` header, e.g. `Connpass=OK, TechPlay=TIMED_OUT`.
+                    Providers that keep failing are not called at all until their circuit
+                    breaker probes them again; see `/api/search/breakers`.
                     """
     )
     @ApiResponses({
@@ -107,7 +178,7 @@ public class SearchController {
                     description = "Invalid search parameters"
             )
     })
-    public List<WazaiMapItem> searchMapItems(
+    public ResponseEntity<List<WazaiMapItem>> searchMapItems(
             @Parameter(
                     description = "Search keyword (supports English and Chinese). If omitted, returns all items.",
                     example = "python",
@@ -123,9 +194,194 @@ public class SearchController {
                     description = "Provider filter: Partial match on provider name (e.g. 'Connpass'), or ALL (default)",
                     example = "ALL"
             )
-            @RequestParam(defaultValue = "ALL") String provider
+            @RequestParam(defaultValue = "ALL") String provider,
+            @Parameter(
+                    description = "Viewport filter as minLat,minLng,maxLat,maxLng",
+                    example = "21.8,119.9,25.4,122.1"
+            )
+            @RequestParam(required = false) String bbox,
+            @Parameter(
+                    description = "Center point as lat,lng for radius filtering and distance sorting",
+                    example = "25.0330,121.5654"
+            )
+            @RequestParam(required = false) String near,
+            @Parameter(
+                    description = "Maximum distance from 'near' in kilometers",
+                    example = "10"
+            )
+            @RequestParam(required = false) Double radiusKm,
+            @Parameter(
+                    description = "Only events starting on or after this date (ISO, inclusive)",
+                    example = "2026-11-01"
+            )
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(
+                    description = "Only events starting on or before this date (ISO, inclusive)",
+                    example = "2026-11-30"
+            )
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(
+                    description = "Result ordering: 'default' (provider order), 'startTime', 'distance' or 'relevance'",
+                    example = "startTime"
+            )
+            @RequestParam(defaultValue = "default") String sort,
+            @Parameter(
+                    description = "Page size (1-500); omit to return every item",
+                    example = "50"
+            )
+            @RequestParam(required = false) Integer limit,
+            @Parameter(
+                    description = "Opaque cursor from the X-Wazai-Next-Cursor header of the previous page"
+            )
+            @RequestParam(required = false) String cursor
     ) {
-        return searchService.searchAll(keyword, country, provider);
+        SearchQuery query = buildQuery(keyword, country, provider, bbox, near, radiusKm, from, to, sort, limit, cursor);
+        SearchResult result = searchService.search(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(PROVIDER_STATUS_HEADER, formatProviderStatuses(result))
+                .header(PARTIAL_RESULTS_HEADER, String.valueOf(result.isPartial()))
+                .header(TOTAL_ITEMS_HEADER, String.valueOf(result.totalItems()));
+        if (result.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+        }
+        return response.body(result.items());
+    }
+
+    /**
+     * Streaming variant of {@link #searchMapItems}: each provider's items are sent as soon
+     * as that provider finishes, followed by a completion frame with per-provider statuses.
+     *
+     * @return Server-Sent Events stream of {@code batch} events and one {@code complete} event
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream events and places as each provider finishes",
+            description = """
+                    Same parameters and filtering as `/api/search`, delivered as Server-Sent Events.
+                    With `limit`, each provider is asked for one page and each batch holds at most
+                    `limit` items.
+
+                    - `batch`: `{"provider": "...", "items": [...]}`, one per provider, in completion order.
+                      Catalog-backed providers arrive first; items within a batch follow `sort`.
+                    - `complete`: `{"providers": [{"provider", "outcome", "itemCount", "elapsedMillis"}], "partial": false, "items": [...]}`,
+                      sent once after every provider has finished or been cut off. `items` is the combined
+                      result as `/api/search` returns it, with events listed by several providers merged.
+                    """
+    )
+    public SseEmitter streamMapItems(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "ALL") String country,
+            @RequestParam(defaultValue = "ALL") String provider,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "default") String sort,
+            @RequestParam(required = false) Integer limit
+    ) {
+        SearchQuery query = buildQuery(keyword, country, provider, bbox, near, radiusKm, from, to, sort, limit, null);
+        SseEmitter emitter = new SseEmitter(searchProperties.timeout().plus(STREAM_TIMEOUT_MARGIN).toMillis());
+
+        CompletableFuture<SearchResult> search = searchService.searchAsync(
+                query, batch -> send(emitter, BATCH_EVENT, batch));
+        // Stop waiting on providers once the client is gone or the stream timed out
+        emitter.onCompletion(() -> search.cancel(true));
+        emitter.onTimeout(() -> search.cancel(true));
+        emitter.onError(error -> search.cancel(true));
+
+        search.whenComplete((result, error) -> {
+            if (search.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                emitter.completeWithError(error);
+                return;
+            }
+            try {
+                send(emitter, COMPLETE_EVENT, SearchCompletion.of(result));
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SearchQuery buildQuery(String keyword, String country, String provider,
+                                   String bbox, String near, Double radiusKm,
+                                   LocalDate from, LocalDate to, String sort,
+                                   Integer limit, String cursor) {
+        try {
+            GeoFilter geo = null;
+            if (bbox != null || near != null || radiusKm != null) {
+                geo = new GeoFilter(
+                        bbox != null ? BoundingBox.parse(bbox) : null,
+                        near != null ? parseCoordinates(near) : null,
+                        radiusKm
+                );
+            }
+            DateRange dates = from != null || to != null ? new DateRange(from, to) : null;
+            SortOrder sortOrder = SortOrder.fromParam(sort);
+            PageCursor pageCursor = cursor != null && !cursor.isBlank() ? PageCursor.decode(cursor) : null;
+            return new SearchQuery(keyword, country, provider, geo, dates, sortOrder, limit, pageCursor);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private Coordinates parseCoordinates(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Point must be lat,lng, got: " + value);
+        }
+        return new Coordinates(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+    }
+
+    private String formatProviderStatuses(SearchResult result) {
+        return result.providers().stream()
+                .map(status -> status.provider() + "=" + status.outcome())
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Get hit and miss counts of the search result cache.
+     *
+     * @return cache statistics since startup
+     */
+    @GetMapping("/cache")
+    @Operation(
+            summary = "Get search result cache statistics",
+            description = "Hit, stale-hit and miss counts of the cache for live provider results, for tuning its TTLs and size"
+    )
+    public CacheStats getCacheStats() {
+        return searchService.resultCacheStats();
+    }
+
+    /**
+     * Get the circuit breaker state of each live provider.
+     *
+     * @return breaker states, ordered by provider name
+     */
+    @GetMapping("/breakers")
+    @Operation(
+            summary = "Get provider circuit breaker states",
+            description = """
+                    State (`CLOSED`, `OPEN`, `HALF_OPEN`), rolling failure rate, observed latency
+                    percentile and current adaptive timeout of every provider searched live so far.
+                    """
+    )
+    public List<BreakerStatus> getBreakerStatuses() {
+        return searchService.breakerStatuses();
     }
 
     /**
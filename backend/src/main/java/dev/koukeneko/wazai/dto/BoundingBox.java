@@ -0,0 +1,121 @@
+package dev.koukeneko.wazai.dto;
+
+/**
+ * Represents a rectangular map viewport.
+ * A box whose minLongitude is greater than its maxLongitude crosses the antimeridian.
+ */
+public record BoundingBox(
+        double minLatitude,
+        double minLongitude,
+        double maxLatitude,
+        double maxLongitude
+) {
+    /**
+     * Validates that the box lies within valid coordinate ranges.
+     */
+    public BoundingBox {
+        if (!Double.isFinite(minLatitude) || !Double.isFinite(minLongitude)
+                || !Double.isFinite(maxLatitude) || !Double.isFinite(maxLongitude)) {
+            throw new IllegalArgumentException(
+                    "Bounding box corners must be finite numbers, got: "
+                            + minLatitude + ", " + minLongitude + ", " + maxLatitude + ", " + maxLongitude
+            );
+        }
+        if (minLatitude < -90 || maxLatitude > 90) {
+            throw new IllegalArgumentException(
+                    "Latitude must be between -90 and 90, got: " + minLatitude + ", " + maxLatitude
+            );
+        }
+        if (minLongitude < -180 || minLongitude > 180 || maxLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException(
+                    "Longitude must be between -180 and 180, got: " + minLongitude + ", " + maxLongitude
+            );
+        }
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException(
+                    "Minimum latitude must not exceed maximum latitude, got: " + minLatitude + " > " + maxLatitude
+            );
+        }
+    }
+
+    /**
+     * Parses a box in {@code minLat,minLng,maxLat,maxLng} form.
+     *
+     * @param value the comma-separated corners
+     * @return the parsed box
+     * @throws IllegalArgumentException if the value is malformed or out of range
+     */
+    public static BoundingBox parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minLat,minLng,maxLat,maxLng, got: " + value);
+        }
+        return new BoundingBox(
+                Double.parseDouble(parts[0].trim()),
+                Double.parseDouble(parts[1].trim()),
+                Double.parseDouble(parts[2].trim()),
+                Double.parseDouble(parts[3].trim())
+        );
+    }
+
+    /**
+     * Smallest box enclosing a circle of the given radius.
+     * The box spans all longitudes when the circle reaches a pole.
+     */
+    public static BoundingBox around(Coordinates center, double radiusKm) {
+        final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+        double latDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double minLat = Math.max(-90, center.latitude() - latDelta);
+        double maxLat = Math.min(90, center.latitude() + latDelta);
+        if (minLat <= -90 || maxLat >= 90) {
+            return new BoundingBox(minLat, -180, maxLat, 180);
+        }
+
+        double lngDelta = latDelta / Math.cos(Math.toRadians(center.latitude()));
+        if (lngDelta >= 180) {
+            return new BoundingBox(minLat, -180, maxLat, 180);
+        }
+        return new BoundingBox(
+                minLat,
+                wrapLongitude(center.longitude() - lngDelta),
+                maxLat,
+                wrapLongitude(center.longitude() + lngDelta)
+        );
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    public boolean contains(Coordinates coordinates) {
+        double lat = coordinates.latitude();
+        double lng = coordinates.longitude();
+        if (lat < minLatitude || lat > maxLatitude) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? lng >= minLongitude || lng <= maxLongitude
+                : lng >= minLongitude && lng <= maxLongitude;
+    }
+
+    public Coordinates center() {
+        double lngSpan = crossesAntimeridian()
+                ? maxLongitude + 360 - minLongitude
+                : maxLongitude - minLongitude;
+        return new Coordinates(
+                (minLatitude + maxLatitude) / 2,
+                wrapLongitude(minLongitude + lngSpan / 2)
+        );
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.koukeneko.wazai.dto;
+
+/**
+ * Current state of one provider's circuit breaker.
+ *
+ * @param provider the provider's display name
+ * @param state whether calls are let through
+ * @param failureRate share of failed calls in the rolling window, 0..1
+ * @param recordedCalls number of calls in the rolling window
+ * @param latencyPercentileMillis observed latency at the configured percentile, or -1 without enough samples
+ * @param timeoutMillis budget the next call gets
+ * @param retryInMillis time until the next probe while open, otherwise 0
+ */
+public record BreakerStatus(
+        String provider,
+        State state,
+        double failureRate,
+        int recordedCalls,
+        long latencyPercentileMillis,
+        long timeoutMillis,
+        long retryInMillis
+) {
+
+    /**
+     * Circuit breaker state enumeration.
+     */
+    public enum State {
+        CLOSED,     // Calls pass; outcomes are recorded
+        OPEN,       // Calls are rejected without contacting the provider
+        HALF_OPEN   // One probe call is in flight to test recovery
+    }
+}
@@ -0,0 +1,29 @@
+package dev.koukeneko.wazai.dto;
+
+/**
+ * Usage counters of a cache since startup.
+ *
+ * @param size number of entries currently cached
+ * @param maxEntries maximum number of entries kept
+ * @param hits lookups answered by a fresh entry
+ * @param staleHits lookups answered by a stale entry while it was refreshed
+ * @param misses lookups that had to be computed
+ * @param refreshes background refreshes started by stale hits
+ */
+public record CacheStats(
+        int size,
+        int maxEntries,
+        long hits,
+        long staleHits,
+        long misses,
+        long refreshes
+) {
+
+    /**
+     * Share of lookups answered from the cache, stale or fresh.
+     */
+    public double hitRatio() {
+        long lookups = hits + staleHits + misses;
+        return lookups == 0 ? 0 : (double) (hits + staleHits) / lookups;
+    }
+}
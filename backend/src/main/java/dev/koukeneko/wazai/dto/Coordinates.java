@@ -14,6 +14,11 @@ public record Coordinates(
      * Validates that coordinates are within valid ranges.
      */
     public Coordinates {
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)) {
+            throw new IllegalArgumentException(
+                    "Coordinates must be finite numbers, got: " + latitude + ", " + longitude
+            );
+        }
         if (latitude < -90 || latitude > 90) {
             throw new IllegalArgumentException(
                     "Latitude must be between -90 and 90, got: " + latitude
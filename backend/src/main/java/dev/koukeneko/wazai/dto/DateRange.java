@@ -0,0 +1,37 @@
+package dev.koukeneko.wazai.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Inclusive range of event start dates. Either end may be open.
+ *
+ * @param from first start date to include, or null for no lower bound
+ * @param to last start date to include, or null for no upper bound
+ */
+public record DateRange(
+        LocalDate from,
+        LocalDate to
+) {
+    public DateRange {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Date range start " + from + " is after its end " + to);
+        }
+    }
+
+    /**
+     * Events match when they start inside the range; events without a start time never do.
+     * Places have no start time and are not restricted by dates.
+     */
+    public boolean matches(WazaiMapItem item) {
+        if (!(item instanceof WazaiEvent event)) {
+            return true;
+        }
+        LocalDateTime startTime = event.startTime();
+        if (startTime == null) {
+            return false;
+        }
+        LocalDate startDate = startTime.toLocalDate();
+        return (from == null || !startDate.isBefore(from)) && (to == null || !startDate.isAfter(to));
+    }
+}
@@ -0,0 +1,56 @@
+package dev.koukeneko.wazai.dto;
+
+/**
+ * Geographic restriction of a search: a viewport, a radius around a point, or both.
+ *
+ * @param bounds viewport the items must fall into, or null
+ * @param center reference point for radius filtering and distance sorting, or null
+ * @param radiusKm maximum distance from the center in kilometers, or null for no limit
+ */
+public record GeoFilter(
+        BoundingBox bounds,
+        Coordinates center,
+        Double radiusKm
+) {
+    public GeoFilter {
+        if (radiusKm != null && center == null) {
+            throw new IllegalArgumentException("A radius requires a center point");
+        }
+        if (radiusKm != null && (!Double.isFinite(radiusKm) || radiusKm <= 0)) {
+            throw new IllegalArgumentException("Radius must be a positive number, got: " + radiusKm);
+        }
+    }
+
+    /**
+     * Box used for spatial index lookups: the viewport, the circle's enclosing box,
+     * or null when the filter does not restrict the area at all.
+     * When both are present, the viewport is used and the radius is checked per item.
+     */
+    public BoundingBox searchBounds() {
+        if (bounds != null) {
+            return bounds;
+        }
+        return radiusKm != null ? BoundingBox.around(center, radiusKm) : null;
+    }
+
+    /**
+     * Point that distance sorting is measured from: the center, or the viewport's center.
+     */
+    public Coordinates referencePoint() {
+        if (center != null) {
+            return center;
+        }
+        return bounds != null ? bounds.center() : null;
+    }
+
+    public boolean matches(WazaiMapItem item) {
+        Coordinates coordinates = item.coordinates();
+        if (coordinates == null) {
+            return false;
+        }
+        if (bounds != null && !bounds.contains(coordinates)) {
+            return false;
+        }
+        return radiusKm == null || center.distanceTo(coordinates) <= radiusKm;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.koukeneko.wazai.dto;
+
+import java.util.List;
+
+/**
+ * A group of nearby map items rendered as a single marker at a given zoom level.
+ * A cluster with a count of one stands for a single item.
+ *
+ * @param id stable cluster identifier in {@code zoom/x/y} form
+ * @param coordinates centroid of the clustered items
+ * @param count number of items in the cluster
+ * @param items a few representative items, earliest events first
+ */
+public record MapCluster(
+        String id,
+        Coordinates coordinates,
+        int count,
+        List<WazaiMapItem> items
+) {
+}
@@ -0,0 +1,75 @@
+package dev.koukeneko.wazai.dto;
+
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position of an item in a sorted search result, and the opaque cursor that encodes it.
+ *
+ * Items are ordered by {@code primary}, then {@code secondary}, then {@code identity}
+ * (source and ID), which is unique. A cursor therefore names a point in the order rather
+ * than an offset: the next page holds the items that sort after it, even when the catalog
+ * has been refreshed since the previous page was served.
+ *
+ * @param sort the ordering the position belongs to
+ * @param primary main sort key, ascending
+ * @param secondary tie-breaker, ascending
+ * @param identity unique item key, the final tie-breaker
+ */
+public record PageCursor(
+        SortOrder sort,
+        double primary,
+        long secondary,
+        String identity
+) implements Comparable<PageCursor> {
+
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+
+    private static final Comparator<PageCursor> ORDER = Comparator
+            .comparingDouble(PageCursor::primary)
+            .thenComparingLong(PageCursor::secondary)
+            .thenComparing(PageCursor::identity);
+
+    @Override
+    public int compareTo(PageCursor other) {
+        return ORDER.compare(this, other);
+    }
+
+    /**
+     * @return URL-safe cursor string
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sort.name() + SEPARATOR + primary + SEPARATOR + secondary + SEPARATOR + identity;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !parts[0].equals(VERSION)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(
+                    SortOrder.valueOf(parts[1]),
+                    Double.parseDouble(parts[2]),
+                    Long.parseLong(parts[3]),
+                    parts[4]
+            );
+        } catch (IllegalArgumentException e) {
+            // Bad Base64, sort name or number
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
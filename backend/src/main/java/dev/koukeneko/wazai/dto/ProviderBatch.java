@@ -0,0 +1,15 @@
+package dev.koukeneko.wazai.dto;
+
+import java.util.List;
+
+/**
+ * One provider's contribution to a streamed search, sent as soon as the provider finishes.
+ *
+ * @param provider the provider's display name
+ * @param items the provider's items, filtered and ordered like the full result
+ */
+public record ProviderBatch(
+        String provider,
+        List<WazaiMapItem> items
+) {
+}
@@ -0,0 +1,32 @@
+package dev.koukeneko.wazai.dto;
+
+/**
+ * Outcome of a single provider within one aggregated search.
+ *
+ * @param provider the provider's display name
+ * @param outcome how the provider call ended
+ * @param itemCount number of items the provider contributed
+ * @param elapsedMillis wall-clock time spent waiting for the provider
+ */
+public record ProviderStatus(
+        String provider,
+        Outcome outcome,
+        int itemCount,
+        long elapsedMillis
+) {
+
+    /**
+     * Provider call outcome enumeration.
+     */
+    public enum Outcome {
+        OK,             // Finished within its budget
+        FAILED,         // Threw an exception
+        TIMED_OUT,      // Exceeded its own per-provider budget
+        SKIPPED,        // Cut off by the global request deadline
+        CIRCUIT_OPEN    // Not called because its circuit breaker is open
+    }
+
+    public boolean isComplete() {
+        return outcome == Outcome.OK;
+    }
+}
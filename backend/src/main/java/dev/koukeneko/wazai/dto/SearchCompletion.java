@@ -0,0 +1,23 @@
+package dev.koukeneko.wazai.dto;
+
+import java.util.List;
+
+/**
+ * Final frame of a streamed search, sent after every provider has finished or been cut off.
+ * Batches carry each provider's items as listed; this frame carries the combined result,
+ * with events listed by more than one provider merged, for the client to replace them with.
+ *
+ * @param providers status of each provider that took part in the search
+ * @param partial whether at least one provider failed or missed its deadline
+ * @param items the combined, merged and ordered result
+ */
+public record SearchCompletion(
+        List<ProviderStatus> providers,
+        boolean partial,
+        List<WazaiMapItem> items
+) {
+
+    public static SearchCompletion of(SearchResult result) {
+        return new SearchCompletion(result.providers(), result.isPartial(), result.items());
+    }
+}
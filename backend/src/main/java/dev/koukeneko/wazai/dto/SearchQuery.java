@@ -0,0 +1,92 @@
+package dev.koukeneko.wazai.dto;
+
+import java.util.Locale;
+
+/**
+ * Parameters of an aggregated map item search.
+ *
+ * @param keyword the search term, or null/blank for every item
+ * @param country country filter: "TW", "JP", or "ALL"
+ * @param provider provider filter: partial match on provider name, or "ALL"
+ * @param geo geographic filter, or null for the whole world
+ * @param dates event start date filter, or null for any date
+ * @param sort result ordering
+ * @param limit maximum number of items to return, or null for every item
+ * @param cursor position after which the page starts, or null for the first page
+ */
+public record SearchQuery(
+        String keyword,
+        String country,
+        String provider,
+        GeoFilter geo,
+        DateRange dates,
+        SortOrder sort,
+        Integer limit,
+        PageCursor cursor
+) {
+    public static final int MAX_LIMIT = 500;
+
+    public SearchQuery {
+        sort = sort != null ? sort : SortOrder.DEFAULT;
+        if (sort == SortOrder.DISTANCE && (geo == null || geo.referencePoint() == null)) {
+            throw new IllegalArgumentException("Sorting by distance requires a center point or a bounding box");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ", got: " + limit);
+        }
+        if (cursor != null && limit == null) {
+            throw new IllegalArgumentException("cursor requires limit");
+        }
+        if (cursor != null && cursor.sort() != pageOrder(sort)) {
+            throw new IllegalArgumentException("cursor belongs to sort=" + cursor.sort().name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Query without geographic or date restriction, in provider order.
+     */
+    public static SearchQuery of(String keyword, String country, String provider) {
+        return new SearchQuery(keyword, country, provider, null, null, SortOrder.DEFAULT, null, null);
+    }
+
+    public boolean isPaged() {
+        return limit != null;
+    }
+
+    /**
+     * Ordering of paged results. Provider order is not stable across requests, so pages
+     * requested without an explicit sort are ordered by start time.
+     */
+    public SortOrder pageOrder() {
+        return pageOrder(sort);
+    }
+
+    private static SortOrder pageOrder(SortOrder sort) {
+        return sort == SortOrder.DEFAULT ? SortOrder.START_TIME : sort;
+    }
+
+    /**
+     * Result ordering enumeration.
+     */
+    public enum SortOrder {
+        DEFAULT,    // Provider order, as returned by each provider
+        START_TIME, // Earliest start first; places and undated events last
+        DISTANCE,   // Nearest to the geo filter's reference point first
+        RELEVANCE;  // Best keyword match first, then earliest start
+
+        /**
+         * Parses a request parameter such as {@code startTime}, {@code start_time} or {@code DISTANCE}.
+         *
+         * @throws IllegalArgumentException if no ordering matches
+         */
+        public static SortOrder fromParam(String value) {
+            String normalized = value.trim().replace("_", "").replace("-", "");
+            for (SortOrder order : values()) {
+                if (order.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                    return order;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.koukeneko.wazai.dto;
+
+import java.util.List;
+
+/**
+ * Aggregated search response: the map items that arrived in time,
+ * plus the per-provider status of the fan-out that produced them.
+ *
+ * @param items map items from every provider that finished in time, or the requested page of them
+ * @param providers status of each provider that took part in the search
+ * @param totalItems number of matching items across all pages
+ * @param nextCursor cursor of the following page, or null if this is the last one
+ */
+public record SearchResult(
+        List<WazaiMapItem> items,
+        List<ProviderStatus> providers,
+        int totalItems,
+        String nextCursor
+) {
+
+    /**
+     * Unpaged result holding every matching item.
+     */
+    public SearchResult(List<WazaiMapItem> items, List<ProviderStatus> providers) {
+        this(items, providers, items.size(), null);
+    }
+
+    /**
+     * Whether at least one provider failed or missed its deadline.
+     */
+    public boolean isPartial() {
+        return providers.stream().anyMatch(status -> !status.isComplete());
+    }
+}
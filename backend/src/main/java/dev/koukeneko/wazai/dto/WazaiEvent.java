@@ -1,12 +1,16 @@
 package dev.koukeneko.wazai.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Represents a time-based event that appears on the Wazai map.
  * Events are characterized by having a specific start time and optional end time.
  *
  * Examples: tech meetups, conferences, workshops, community gatherings
+ *
+ * When the same event is listed by several providers, the duplicates are merged into one
+ * event and their listings are kept in {@code otherSources}.
  */
 public record WazaiEvent(
         String id,
@@ -19,9 +23,33 @@ public record WazaiEvent(
         LocalDateTime endTime,
         EventType eventType,
         WazaiMapItem.DataSource source,
-        WazaiMapItem.Country country
+        WazaiMapItem.Country country,
+        List<SourceLink> otherSources
 ) implements WazaiMapItem {
 
+    public WazaiEvent {
+        otherSources = otherSources != null ? List.copyOf(otherSources) : List.of();
+    }
+
+    /**
+     * Constructor for an event listed by a single provider.
+     */
+    public WazaiEvent(
+            String id,
+            String title,
+            String description,
+            String url,
+            Coordinates coordinates,
+            String address,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            EventType eventType,
+            WazaiMapItem.DataSource source,
+            WazaiMapItem.Country country
+    ) {
+        this(id, title, description, url, coordinates, address, startTime, endTime, eventType, source, country, List.of());
+    }
+
     /**
      * Constructor with optional end time.
      * If end time is not provided, it defaults to null.
@@ -41,6 +69,19 @@ public record WazaiEvent(
         this(id, title, description, url, coordinates, address, startTime, null, eventType, source, country);
     }
 
+    /**
+     * Another provider's listing of the same event.
+     *
+     * @param source the provider that listed it
+     * @param id the item ID within that provider
+     * @param url the listing page
+     */
+    public record SourceLink(
+            WazaiMapItem.DataSource source,
+            String id,
+            String url
+    ) {}
+
     /**
      * Event type enumeration for categorizing different kinds of events.
      */
@@ -37,6 +37,20 @@ public sealed interface WazaiMapItem permits WazaiEvent, WazaiPlace {
     enum Country {
         JAPAN,                  // Japan
         TAIWAN,                  // Taiwan
-        DEFAULT
+        DEFAULT;
+
+        /**
+         * Parse country code string to Country enum.
+         *
+         * @param countryCode "TW", "JP", etc.
+         * @return corresponding Country enum, or null if invalid
+         */
+        public static Country fromCode(String countryCode) {
+            return switch (countryCode.toUpperCase()) {
+                case "TW" -> TAIWAN;
+                case "JP" -> JAPAN;
+                default -> null;
+            };
+        }
     }
 }
@@ -7,11 +7,18 @@ import java.util.List;
 /**
  * Root response from GDG Community API /api/search/ endpoint.
  * API Endpoint: https://gdg.community.dev/api/search/
+ *
+ * Results are paginated with {@code page} and {@code page_size}; {@code count} is the
+ * total number of matches and {@code next} the URL of the following page, when present.
  */
 public record GdgApiResponse(
         GdgLocation location,
 
         @JsonProperty("results")
-        List<GdgEvent> results
+        List<GdgEvent> results,
+
+        Integer count,
+
+        String next
 ) {
 }
@@ -1,5 +1,7 @@
 package dev.koukeneko.wazai.service;
 
+import dev.koukeneko.wazai.dto.DateRange;
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
 
 import java.util.List;
@@ -22,10 +24,95 @@ public interface ActivityProvider {
      */
     List<WazaiMapItem> search(String keyword);
 
+    /**
+     * Search with the filters this provider declared in {@link #getCapabilities()}.
+     * The default only uses the keyword; the aggregator filters the results afterwards.
+     *
+     * @param query keyword plus any supported date range and result limit
+     * @return a list of map items matching the query
+     */
+    default List<WazaiMapItem> search(ProviderQuery query) {
+        return search(query.keyword());
+    }
+
+    /**
+     * Fetches the provider's complete listing for the event catalog. Called on the ingestion
+     * schedule, so providers that memoize their listing must fetch a new one here.
+     * The default is {@code search(null)}.
+     *
+     * @return the provider's complete, unfiltered listing
+     */
+    default List<WazaiMapItem> fetchListing() {
+        return search((String) null);
+    }
+
     /**
      * Get the name of this provider.
      *
      * @return the provider's name (e.g., "Connpass", "Google", "InternalDB")
      */
     String getProviderName();
+
+    /**
+     * Declares where this provider has items and which filters its upstream API supports.
+     * The default is a worldwide provider that filters locally.
+     *
+     * @return the provider's capabilities
+     */
+    default ProviderCapabilities getCapabilities() {
+        return ProviderCapabilities.ANY;
+    }
+
+    /**
+     * Whether the upstream API can apply this particular date range itself.
+     * The default follows {@link ProviderCapabilities#dateRange()}; providers whose API
+     * only accepts some ranges override it.
+     *
+     * @param dates the requested event start date range, or null
+     * @return true if the range can be pushed down in the {@link ProviderQuery}
+     */
+    default boolean canFilterByDates(DateRange dates) {
+        return dates != null && getCapabilities().dateRange();
+    }
+
+    /**
+     * Whether the upstream API returns its results in the given order, so that the first
+     * {@code limit} of them are also the first {@code limit} of the complete result.
+     * Only then can a page limit be pushed down; the default returns results in the
+     * upstream's own order.
+     *
+     * @param order the order the page is cut in
+     * @return true if a truncated fetch is a prefix of the full result in that order
+     */
+    default boolean returnsInOrder(SortOrder order) {
+        return false;
+    }
+
+    /**
+     * Declares how this provider's data can be served from the in-memory event catalog.
+     * The default assumes {@code search(null)} returns the provider's complete listing,
+     * so keyword queries can be answered by filtering that listing locally.
+     *
+     * @return the provider's ingestion mode
+     */
+    default IngestionMode getIngestionMode() {
+        return IngestionMode.CATALOG;
+    }
+
+    /**
+     * Loads reference data the provider needs before its first search, such as lookup tables.
+     * Called once on a background thread after startup, before the provider's first catalog
+     * refresh, so constructors never wait on the network. Searches may still arrive first.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Ingestion mode enumeration.
+     */
+    enum IngestionMode {
+        CATALOG,                // Full listing is ingested; all queries served from the catalog
+        CATALOG_BROWSE_ONLY,    // Listing is ingested for keyword-less queries; keywords are searched upstream
+        LIVE                    // Never ingested; always searched upstream
+    }
 }
@@ -0,0 +1,66 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.MapCluster;
+import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import dev.koukeneko.wazai.service.catalog.CatalogSnapshot;
+import dev.koukeneko.wazai.service.catalog.ClusterIndex.Cell;
+import dev.koukeneko.wazai.service.catalog.EventCatalog;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves zoom-aware marker clusters for a map viewport.
+ *
+ * Each catalog snapshot carries clusters precomputed for every zoom level; this service
+ * merges the cells of all snapshots that fall into the viewport, so a request costs a
+ * few map lookups per provider regardless of how many items the catalog holds.
+ * Live-only providers (e.g. Meetup) are not part of the catalog and thus not clustered.
+ */
+@Service
+public class ClusterService {
+
+    private final EventCatalog catalog;
+
+    public ClusterService(EventCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Get the clusters visible in the viewport at the given zoom level.
+     *
+     * @param box the map viewport
+     * @param zoom the map zoom level; clamped to the precomputed range
+     * @param countryCode country filter: "TW", "JP", or "ALL"
+     * @return clusters whose centroid lies inside the viewport, largest first
+     */
+    public List<MapCluster> clusters(BoundingBox box, int zoom, String countryCode) {
+        Country country = countryCode == null || countryCode.equalsIgnoreCase("ALL")
+                ? null
+                : Country.fromCode(countryCode);
+
+        Map<Long, Cell> merged = new HashMap<>();
+        for (CatalogSnapshot snapshot : catalog.snapshots().values()) {
+            snapshot.clusterIndex().collect(zoom, box, country, merged);
+        }
+
+        return merged.values().stream()
+                .filter(cell -> box.contains(cell.centroid()))
+                .sorted(Comparator.comparingInt(Cell::count).reversed())
+                .map(this::toMapCluster)
+                .toList();
+    }
+
+    private MapCluster toMapCluster(Cell cell) {
+        return new MapCluster(
+                cell.zoom() + "/" + cell.x() + "/" + cell.y(),
+                cell.centroid(),
+                cell.count(),
+                cell.representatives()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package dev.koukeneko.wazai.service;
 import dev.koukeneko.wazai.dto.Coordinates;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for converting addresses to geographic coordinates.
@@ -10,10 +11,21 @@ import java.util.Optional;
 public interface GeocodingService {
 
     /**
-     * Converts an address string to coordinates.
+     * Converts an address string to coordinates, blocking until the lookup completes.
      *
      * @param address the address to geocode
      * @return Optional containing coordinates if found, empty otherwise
      */
-    Optional<Coordinates> geocode(String address);
+    default Optional<Coordinates> geocode(String address) {
+        return geocodeAsync(address).join();
+    }
+
+    /**
+     * Converts an address string to coordinates without blocking the caller.
+     * Identical in-flight lookups share a single upstream request.
+     *
+     * @param address the address to geocode
+     * @return future completed with the coordinates if found, empty otherwise
+     */
+    CompletableFuture<Optional<Coordinates>> geocodeAsync(String address);
 }
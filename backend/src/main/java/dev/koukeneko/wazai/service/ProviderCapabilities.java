@@ -0,0 +1,48 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+
+import java.util.Set;
+
+/**
+ * What a provider can match and which filters its upstream API applies itself.
+ * The aggregator uses it to skip providers that cannot contribute to a query and to
+ * decide which filters to push down in the {@link ProviderQuery}.
+ *
+ * @param countries countries the provider's items are located in, or empty for anywhere
+ * @param keywordSearch whether the upstream API searches by keyword itself
+ * @param dateRange whether the upstream API filters by event start date
+ * @param paging whether the upstream API can limit the number of results
+ */
+public record ProviderCapabilities(
+        Set<Country> countries,
+        boolean keywordSearch,
+        boolean dateRange,
+        boolean paging
+) {
+
+    /**
+     * Worldwide provider that fetches its listing and filters locally.
+     */
+    public static final ProviderCapabilities ANY = new ProviderCapabilities(Set.of(), false, false, false);
+
+    public ProviderCapabilities {
+        countries = Set.copyOf(countries);
+    }
+
+    /**
+     * Provider limited to the given countries that filters locally.
+     */
+    public static ProviderCapabilities locatedIn(Country... countries) {
+        return new ProviderCapabilities(Set.of(countries), false, false, false);
+    }
+
+    /**
+     * Whether the provider can return items in the country.
+     *
+     * @param country the requested country, or null for every country
+     */
+    public boolean serves(Country country) {
+        return country == null || countries.isEmpty() || countries.contains(country);
+    }
+}
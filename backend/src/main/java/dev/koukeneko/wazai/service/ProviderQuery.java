@@ -0,0 +1,27 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.DateRange;
+
+/**
+ * Filters the aggregator passes down to a provider. Only the filters the provider declares
+ * in its {@link ProviderCapabilities} are set; the aggregator applies every filter to the
+ * returned items again, so providers may treat them as hints.
+ *
+ * @param keyword the search term, or null/blank for every item
+ * @param dates event start date range, or null if not requested or not supported
+ * @param limit maximum number of items wanted, or null if not requested or not supported
+ */
+public record ProviderQuery(
+        String keyword,
+        DateRange dates,
+        Integer limit
+) {
+
+    public static ProviderQuery keyword(String keyword) {
+        return new ProviderQuery(keyword, null, null);
+    }
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+}
@@ -0,0 +1,141 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.PageCursor;
+import dev.koukeneko.wazai.dto.SearchQuery;
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Sorting and keyset pagination of aggregated search results.
+ *
+ * Every ordering except provider order maps each item to a {@link PageCursor} position,
+ * so sorting and paging compare the same keys. A page is selected with a heap bounded to
+ * the page size instead of sorting the whole result, which keeps first pages of broad
+ * queries at O(n log k).
+ */
+final class ResultOrdering {
+
+    private ResultOrdering() {
+        // Utility class
+    }
+
+    /**
+     * One page of a sorted result.
+     *
+     * @param items the page, in order
+     * @param totalItems number of items across all pages
+     * @param nextCursor cursor of the following page, or null if this is the last one
+     */
+    record Page(List<WazaiMapItem> items, int totalItems, String nextCursor) {}
+
+    private record Keyed(WazaiMapItem item, PageCursor key) {}
+
+    private static final Comparator<Keyed> BY_KEY = Comparator.comparing(Keyed::key);
+
+    /**
+     * Sorts every item in the query's order; provider order is kept as is.
+     */
+    static List<WazaiMapItem> sort(List<WazaiMapItem> items, SearchQuery query) {
+        if (query.sort() == SortOrder.DEFAULT) {
+            return items;
+        }
+        return keyed(items, query, query.sort()).stream()
+                .sorted(BY_KEY)
+                .map(Keyed::item)
+                .toList();
+    }
+
+    /**
+     * Selects the page after the query's cursor, in {@link SearchQuery#pageOrder()}.
+     */
+    static Page page(List<WazaiMapItem> items, SearchQuery query) {
+        int limit = query.limit();
+        PageCursor after = query.cursor();
+
+        // Max-heap of the best limit + 1 items; the extra one tells whether a next page exists
+        PriorityQueue<Keyed> best = new PriorityQueue<>(limit + 2, BY_KEY.reversed());
+        for (Keyed keyed : keyed(items, query, query.pageOrder())) {
+            if (after != null && keyed.key().compareTo(after) <= 0) {
+                continue;
+            }
+            best.add(keyed);
+            if (best.size() > limit + 1) {
+                best.poll();
+            }
+        }
+
+        boolean hasMore = best.size() > limit;
+        if (hasMore) {
+            best.poll();
+        }
+        List<Keyed> page = new ArrayList<>(best);
+        page.sort(BY_KEY);
+        String nextCursor = hasMore ? page.getLast().key().encode() : null;
+        return new Page(page.stream().map(Keyed::item).toList(), items.size(), nextCursor);
+    }
+
+    private static List<Keyed> keyed(List<WazaiMapItem> items, SearchQuery query, SortOrder order) {
+        Coordinates reference = order == SortOrder.DISTANCE ? query.geo().referencePoint() : null;
+        String keyword = query.keyword() != null && !query.keyword().isBlank()
+                ? query.keyword().trim().toLowerCase(Locale.ROOT)
+                : null;
+
+        List<Keyed> keyed = new ArrayList<>(items.size());
+        for (WazaiMapItem item : items) {
+            long start = startEpochSecond(item);
+            String identity = item.source() + ":" + item.id();
+            PageCursor key = switch (order) {
+                case DISTANCE -> new PageCursor(order, distance(item, reference), start, identity);
+                case RELEVANCE -> new PageCursor(order, -relevance(item, keyword), start, identity);
+                default -> new PageCursor(order, start, 0, identity);
+            };
+            keyed.add(new Keyed(item, key));
+        }
+        return keyed;
+    }
+
+    private static double distance(WazaiMapItem item, Coordinates reference) {
+        return item.coordinates() != null ? reference.distanceTo(item.coordinates()) : Double.MAX_VALUE;
+    }
+
+    private static long startEpochSecond(WazaiMapItem item) {
+        LocalDateTime start = item instanceof WazaiEvent event ? event.startTime() : null;
+        return start != null ? start.toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Scores how well the item matches the keyword: title matches outrank description
+     * and ID matches, and a title that is or starts with the keyword ranks highest.
+     */
+    private static int relevance(WazaiMapItem item, String keyword) {
+        if (keyword == null) {
+            return 0;
+        }
+        int score = 0;
+        String title = item.title() != null ? item.title().toLowerCase(Locale.ROOT) : "";
+        if (title.equals(keyword)) {
+            score += 100;
+        } else if (title.startsWith(keyword)) {
+            score += 60;
+        } else if (title.contains(keyword)) {
+            score += 40;
+        }
+        if (item.description() != null && item.description().toLowerCase(Locale.ROOT).contains(keyword)) {
+            score += 10;
+        }
+        if (item.id() != null && item.id().toLowerCase(Locale.ROOT).contains(keyword)) {
+            score += 5;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight, briefly memoized fetch of a provider's complete, unfiltered listing.
+ *
+ * Providers whose upstream data doesn't depend on the keyword fetch their listing through
+ * this and filter it locally, so concurrent searches with different keywords share one
+ * upstream fetch, and searches within {@code freshFor} of it reuse the result.
+ * The fetch runs on its own virtual thread: a caller that gives up (e.g. its deadline
+ * passed and it was interrupted) doesn't abort the fetch for the callers still waiting.
+ * Scheduled catalog ingestion uses {@link #refresh()} instead, so the memoization never
+ * stretches the ingestion interval.
+ *
+ * Empty listings are not reused, since providers report upstream failures as empty.
+ */
+public final class SharedListing {
+
+    private final String name;
+    private final long freshForNanos;
+    private final Supplier<List<WazaiMapItem>> fetcher;
+    private volatile Fetch current;
+
+    private record Fetch(CompletableFuture<List<WazaiMapItem>> result, long startedAtNanos) {}
+
+    /**
+     * @param name provider name, used for the fetch thread
+     * @param freshFor how long a fetched listing is reused
+     * @param fetcher fetches the complete listing; blocking
+     */
+    public SharedListing(String name, Duration freshFor, Supplier<List<WazaiMapItem>> fetcher) {
+        this.name = name;
+        this.freshForNanos = freshFor.toNanos();
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Returns the current listing, joining an in-flight fetch or starting one if the last
+     * listing is stale, empty or failed.
+     *
+     * @return the complete listing; an unmodifiable list shared with other callers
+     */
+    public List<WazaiMapItem> get() {
+        return await(currentOrNewFetch(false));
+    }
+
+    /**
+     * Fetches a new listing even if the last one is still fresh, joining a fetch that is
+     * already in flight. Searches reuse the result like any other fetch.
+     *
+     * @return the complete listing; an unmodifiable list shared with other callers
+     */
+    public List<WazaiMapItem> refresh() {
+        return await(currentOrNewFetch(true));
+    }
+
+    private List<WazaiMapItem> await(Fetch fetch) {
+        try {
+            return fetch.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the " + name + " listing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Fetching the " + name + " listing failed", e.getCause());
+        }
+    }
+
+    private synchronized Fetch currentOrNewFetch(boolean forceNew) {
+        Fetch fetch = current;
+        if (fetch != null && (forceNew ? !fetch.result().isDone() : isReusable(fetch))) {
+            return fetch;
+        }
+
+        CompletableFuture<List<WazaiMapItem>> result = new CompletableFuture<>();
+        Fetch started = new Fetch(result, System.nanoTime());
+        current = started;
+        Thread.ofVirtual().name("listing-" + name).start(() -> {
+            try {
+                List<WazaiMapItem> items = fetcher.get();
+                result.complete(items != null ? List.copyOf(items) : List.of());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return started;
+    }
+
+    private boolean isReusable(Fetch fetch) {
+        CompletableFuture<List<WazaiMapItem>> result = fetch.result();
+        if (!result.isDone()) {
+            return true;
+        }
+        if (result.isCompletedExceptionally() || result.join().isEmpty()) {
+            return false;
+        }
+        return System.nanoTime() - fetch.startedAtNanos() < freshForNanos;
+    }
+}
@@ -1,9 +1,51 @@
 package dev.koukeneko.wazai.service;
 
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.BreakerStatus;
+import dev.koukeneko.wazai.dto.CacheStats;
+import dev.koukeneko.wazai.dto.DateRange;
+import dev.koukeneko.wazai.dto.ProviderBatch;
+import dev.koukeneko.wazai.dto.ProviderStatus;
+import dev.koukeneko.wazai.dto.ProviderStatus.Outcome;
+import dev.koukeneko.wazai.dto.SearchQuery;
+import dev.koukeneko.wazai.dto.SearchResult;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.service.ActivityProvider.IngestionMode;
+import dev.koukeneko.wazai.service.cache.QueryResultCache;
+import dev.koukeneko.wazai.service.catalog.CatalogSnapshot;
+import dev.koukeneko.wazai.service.catalog.EventCatalog;
+import dev.koukeneko.wazai.service.dedupe.EventDeduplicator;
+import dev.koukeneko.wazai.service.metrics.SearchMetrics;
+import dev.koukeneko.wazai.service.resilience.CircuitBreaker;
+import dev.koukeneko.wazai.service.resilience.CircuitBreakerRegistry;
+import dev.koukeneko.wazai.service.resilience.CircuitOpenException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
 
@@ -12,13 +54,39 @@ import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
  * This service acts as a facade, delegating search requests to all registered
  * providers and combining their results into a unified response.
  *
+ * Providers that declare they cannot serve the requested country are not queried, and
+ * filters their upstream APIs support are pushed down through {@link ProviderQuery}.
+ * Providers whose listing has been ingested into the EventCatalog are answered from
+ * memory. The remaining providers are queried concurrently on virtual threads. Each provider gets its own
+ * time budget and the whole request is bounded by a global deadline; providers that
+ * miss their deadline are reported in the result instead of delaying the response.
+ * A circuit breaker per live provider rejects calls to a provider that keeps failing and
+ * shortens its budget to what its observed latency warrants.
+ * Complete results of the live providers are cached per normalized query and served
+ * stale-while-revalidate, and identical concurrent searches share one live fan-out.
+ * Events listed by more than one provider are merged into one item in the combined result;
+ * the catalog is deduplicated once per published snapshot and each search only merges
+ * its live results into it.
+ *
  * Providers can return either events (WazaiEvent) or places (WazaiPlace),
  * all implementing the WazaiMapItem sealed interface.
  */
 @Service
 public class WazaiSearchService {
 
+    private static final Logger logger = LoggerFactory.getLogger(WazaiSearchService.class);
+
     private final List<ActivityProvider> providers;
+    private final EventCatalog catalog;
+    private final SearchProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final QueryResultCache<QueryKey, Map<String, ProviderResult>> resultCache;
+    private final Map<FanOutKey, SharedFanOut> inFlight = new ConcurrentHashMap<>();
+    private final EventDeduplicator deduplicator;
+    private final Object catalogDedupeLock = new Object();
+    private volatile CatalogDedupe catalogDedupe;
+    private final CircuitBreakerRegistry breakers;
+    private final SearchMetrics metrics;
 
     /**
      * Constructor with dependency injection.
@@ -26,9 +94,35 @@ public class WazaiSearchService {
      * into this list, making the system extensible without code modification.
      *
      * @param providers all registered map item providers
+     * @param catalog ingested provider listings
+     * @param properties fan-out deadlines, result cache and deduplication settings
+     * @param breakers circuit breakers of the live providers
+     * @param metrics search, provider and cache meters
      */
-    public WazaiSearchService(List<ActivityProvider> providers) {
+    public WazaiSearchService(List<ActivityProvider> providers, EventCatalog catalog, SearchProperties properties,
+                              CircuitBreakerRegistry breakers, SearchMetrics metrics) {
         this.providers = providers;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.breakers = breakers;
+        this.metrics = metrics;
+        this.resultCache = new QueryResultCache<>(
+                properties.cache().ttl(),
+                properties.cache().staleWhileRevalidate(),
+                properties.cache().maxEntries(),
+                executor
+        );
+        this.deduplicator = new EventDeduplicator(
+                properties.dedupe().titleSimilarity(),
+                properties.dedupe().startTimeTolerance(),
+                properties.dedupe().maxDistanceKm()
+        );
+        metrics.bindCache("search-results", resultCache);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 
     /**
@@ -62,13 +156,517 @@ public class WazaiSearchService {
      * @return filtered list of map items
      */
     public List<WazaiMapItem> searchAll(String keyword, String countryCode, String providerName) {
-        List<WazaiMapItem> allResults = providers.stream()
-                .filter(p -> isProviderMatch(p, providerName))
-                .map(provider -> searchSingleProvider(provider, keyword))
-                .flatMap(List::stream)
+        return search(keyword, countryCode, providerName).items();
+    }
+
+    /**
+     * Search providers concurrently and report the status of each provider.
+     * Items from providers that fail or miss their deadline are left out, and the
+     * returned result records which providers timed out or were skipped.
+     *
+     * @param keyword the search term
+     * @param countryCode country filter: "TW", "JP", or "ALL"
+     * @param providerName provider filter: partial match on provider name, or "ALL"
+     * @return items that arrived in time, together with per-provider statuses
+     */
+    public SearchResult search(String keyword, String countryCode, String providerName) {
+        return search(SearchQuery.of(keyword, countryCode, providerName));
+    }
+
+    /**
+     * Search providers concurrently, restricted to an area and ordered as requested.
+     * Catalog-backed providers resolve the area through their spatial index; results
+     * of live providers are filtered after they arrive. When the query sets a limit, only
+     * the page after its cursor is returned, with the cursor of the next page.
+     *
+     * @param query keyword, country, provider, geographic filter, sort order and page
+     * @return items that arrived in time, together with per-provider statuses
+     */
+    public SearchResult search(SearchQuery query) {
+        return search(query, batch -> {});
+    }
+
+    /**
+     * Search providers concurrently and hand each provider's items to the listener as soon
+     * as that provider finishes, then return the combined result. Catalog-backed providers
+     * are delivered first; live providers follow in the order they complete.
+     * The listener is never called concurrently. Batches are delivered as each provider
+     * listed them; only the returned result has cross-provider duplicates merged.
+     *
+     * @param query keyword, country, provider, geographic filter and sort order
+     * @param onBatch receives each provider's filtered and ordered items
+     * @return items that arrived in time, together with per-provider statuses
+     */
+    public SearchResult search(SearchQuery query, Consumer<ProviderBatch> onBatch) {
+        long startNanos = System.nanoTime();
+        String keyword = query.keyword();
+        Country country = query.country() != null ? Country.fromCode(query.country()) : null;
+        List<ActivityProvider> targets = providers.stream()
+                .filter(p -> isProviderMatch(p, query.provider()))
+                .filter(p -> p.getCapabilities().serves(country))
                 .toList();
 
-        return filterByCountry(allResults, countryCode);
+        Map<ActivityProvider, CatalogSnapshot> snapshots = new HashMap<>();
+        List<ActivityProvider> liveTargets = new ArrayList<>();
+        for (ActivityProvider provider : targets) {
+            catalogSnapshotFor(provider, query).ifPresentOrElse(
+                    snapshot -> snapshots.put(provider, snapshot),
+                    () -> liveTargets.add(provider));
+        }
+
+        QueryKey queryKey = QueryKey.of(query, liveTargets.stream().anyMatch(p -> canLimit(p, query))
+                ? providerLimit(query)
+                : null);
+        Optional<Map<String, ProviderResult>> cachedLive = liveTargets.isEmpty()
+                ? Optional.empty()
+                : resultCache.get(queryKey, () -> fetchLiveForCache(queryKey, liveTargets, query))
+                        .filter(cached -> coversAll(cached, liveTargets));
+
+        // Start (or join) live providers first so catalog lookups don't delay them
+        SharedFanOut fanOut = cachedLive.isEmpty() && !liveTargets.isEmpty()
+                ? joinFanOut(queryKey, liveTargets, query)
+                : null;
+
+        Map<ActivityProvider, ProviderResult> results = new ConcurrentHashMap<>();
+        Object deliveryLock = new Object();
+
+        for (ActivityProvider provider : targets) {
+            CatalogSnapshot snapshot = snapshots.get(provider);
+            if (snapshot != null) {
+                List<WazaiMapItem> items = snapshot.search(keyword, query.geo());
+                metrics.recordProviderResults(provider.getProviderName(), "catalog", items.size());
+                results.put(provider, deliver(query, provider.getProviderName(), items,
+                        new ProviderStatus(provider.getProviderName(), Outcome.OK, items.size(), 0),
+                        onBatch, deliveryLock));
+            }
+        }
+
+        BiConsumer<ActivityProvider, ProviderResult> deliverLive = (provider, result) -> {
+            List<WazaiMapItem> items = query.geo() == null
+                    ? result.items()
+                    : result.items().stream().filter(query.geo()::matches).toList();
+            results.put(provider, deliver(query, provider.getProviderName(), items,
+                    withItemCount(result.status(), items.size()), onBatch, deliveryLock));
+        };
+
+        if (cachedLive.isPresent()) {
+            for (ActivityProvider provider : liveTargets) {
+                ProviderResult cached = cachedLive.get().get(provider.getProviderName());
+                metrics.recordProviderResults(provider.getProviderName(), "cache", cached.items().size());
+                deliverLive.accept(provider, cached);
+            }
+        } else if (fanOut != null) {
+            awaitFanOut(fanOut, liveTargets, deliverLive)
+                    .flatMap(this::cacheable)
+                    .ifPresent(value -> resultCache.put(queryKey, value));
+        }
+
+        List<WazaiMapItem> allResults = new ArrayList<>();
+        List<ProviderStatus> statuses = new ArrayList<>();
+        for (ActivityProvider provider : targets) {
+            ProviderResult result = results.get(provider);
+            if (result != null) {
+                allResults.addAll(result.items());
+                statuses.add(result.status());
+            }
+        }
+        // A single provider's listings are never merged with each other
+        List<WazaiMapItem> merged = properties.dedupe().enabled() && targets.size() > 1
+                ? catalogDedupe().merge(allResults)
+                : allResults;
+        String live = liveTargets.isEmpty() ? "none" : cachedLive.isPresent() ? "cache" : "fanout";
+        metrics.recordSearch(live, System.nanoTime() - startNanos, merged.size());
+        if (!query.isPaged()) {
+            return new SearchResult(ResultOrdering.sort(merged, query), statuses);
+        }
+        ResultOrdering.Page page = ResultOrdering.page(merged, query);
+        return new SearchResult(page.items(), statuses, page.totalItems(), page.nextCursor());
+    }
+
+    /**
+     * Hit and miss counters of the live result cache.
+     *
+     * @return cache statistics since startup
+     */
+    public CacheStats resultCacheStats() {
+        return resultCache.stats();
+    }
+
+    /**
+     * State of each live provider's circuit breaker.
+     *
+     * @return breaker states, ordered by provider name
+     */
+    public List<BreakerStatus> breakerStatuses() {
+        return breakers.statuses();
+    }
+
+    /**
+     * Normalized cache key: keyword case and surrounding whitespace don't matter,
+     * nor does the case of the country and provider filters. A provider that was asked
+     * for a page returns at most {@code providerLimit} items, so that limit is part of the
+     * key; it is null whenever every provider fetched its full result.
+     */
+    private record QueryKey(String keyword, String country, String provider, DateRange dates, Integer providerLimit) {
+
+        static QueryKey of(SearchQuery query, Integer providerLimit) {
+            return new QueryKey(
+                    query.keyword() == null ? "" : query.keyword().trim().toLowerCase(Locale.ROOT),
+                    query.country() == null ? "ALL" : query.country().trim().toUpperCase(Locale.ROOT),
+                    query.provider() == null || query.provider().isBlank()
+                            ? "all"
+                            : query.provider().trim().toLowerCase(Locale.ROOT),
+                    query.dates(),
+                    providerLimit
+            );
+        }
+    }
+
+    /**
+     * Deduplicated catalog and the snapshots it was built from.
+     */
+    private record CatalogDedupe(Map<String, CatalogSnapshot> snapshots, EventDeduplicator.Index index) {
+
+        boolean isBuiltFrom(Map<String, CatalogSnapshot> current) {
+            return snapshots.size() == current.size()
+                    && current.entrySet().stream().allMatch(entry -> snapshots.get(entry.getKey()) == entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the deduplicated catalog, rebuilding it once after any snapshot was published.
+     */
+    private EventDeduplicator.Index catalogDedupe() {
+        Map<String, CatalogSnapshot> snapshots = catalog.snapshots();
+        CatalogDedupe current = catalogDedupe;
+        if (current != null && current.isBuiltFrom(snapshots)) {
+            return current.index();
+        }
+        synchronized (catalogDedupeLock) {
+            current = catalogDedupe;
+            if (current == null || !current.isBuiltFrom(snapshots)) {
+                // Provider order keeps the choice of canonical events stable between rebuilds
+                List<WazaiMapItem> items = new TreeMap<>(snapshots).values().stream()
+                        .flatMap(snapshot -> snapshot.items().stream())
+                        .toList();
+                current = new CatalogDedupe(snapshots, deduplicator.index(items));
+                catalogDedupe = current;
+            }
+            return current.index();
+        }
+    }
+
+    private record LiveCalls(Map<ActivityProvider, Future<List<WazaiMapItem>>> calls,
+                             long startNanos,
+                             long requestDeadline) {}
+
+    private LiveCalls startLive(List<ActivityProvider> liveTargets, SearchQuery query) {
+        long startNanos = System.nanoTime();
+        Map<ActivityProvider, Future<List<WazaiMapItem>>> calls = new LinkedHashMap<>();
+        for (ActivityProvider provider : liveTargets) {
+            String name = provider.getProviderName();
+            if (!breakers.forProvider(name).tryAcquire()) {
+                calls.put(provider, CompletableFuture.failedFuture(new CircuitOpenException(name)));
+                continue;
+            }
+            ProviderQuery providerQuery = providerQueryFor(provider, query);
+            calls.put(provider, executor.submit(() -> provider.search(providerQuery)));
+        }
+        return new LiveCalls(calls, startNanos, startNanos + properties.timeout().toNanos());
+    }
+
+    /**
+     * Waits for every live provider on its own virtual thread, so each result is handed
+     * to the callback as soon as that provider finishes or misses its deadline.
+     *
+     * @return the unfiltered result of each provider, keyed by provider name
+     */
+    private Map<String, ProviderResult> awaitLive(LiveCalls liveCalls,
+                                                  BiConsumer<ActivityProvider, ProviderResult> onResult) {
+        Map<String, ProviderResult> fetched = new ConcurrentHashMap<>();
+        List<Future<?>> waiters = new ArrayList<>();
+        liveCalls.calls().forEach((provider, call) -> waiters.add(executor.submit(() -> {
+            ProviderResult result = awaitProvider(provider, call, liveCalls.startNanos(), liveCalls.requestDeadline());
+            fetched.put(provider.getProviderName(), result);
+            onResult.accept(provider, result);
+        })));
+
+        // Waiters are bounded by the provider deadlines, so this only waits for the slowest one
+        for (Future<?> waiter : waiters) {
+            try {
+                waiter.get();
+            } catch (ExecutionException e) {
+                logger.warn("Provider delivery failed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                waiter.cancel(true);
+            }
+        }
+        return fetched;
+    }
+
+    /**
+     * Pushes down the filters the provider's upstream API supports.
+     */
+    private ProviderQuery providerQueryFor(ActivityProvider provider, SearchQuery query) {
+        return new ProviderQuery(
+                query.keyword(),
+                provider.canFilterByDates(query.dates()) ? query.dates() : null,
+                canLimit(provider, query) ? providerLimit(query) : null
+        );
+    }
+
+    /**
+     * Whether the provider's first {@code providerLimit} results are the first ones of the
+     * page order. Pages are cut after re-sorting and local filtering, so a truncated fetch
+     * in any other order, or one that is filtered further here, would skip items on later
+     * pages and miscount the total.
+     */
+    private static boolean canLimit(ActivityProvider provider, SearchQuery query) {
+        return query.isPaged()
+                && provider.getCapabilities().paging()
+                && provider.returnsInOrder(query.pageOrder())
+                && query.geo() == null
+                && keepsEveryItemOf(provider, query.country())
+                && (query.dates() == null || provider.canFilterByDates(query.dates()));
+    }
+
+    /**
+     * Whether {@link #filterByCountry} lets all of the provider's items through.
+     */
+    private static boolean keepsEveryItemOf(ActivityProvider provider, String countryCode) {
+        Country country = countryCode != null ? Country.fromCode(countryCode) : null;
+        return country == null || provider.getCapabilities().countries().equals(Set.of(country));
+    }
+
+    /**
+     * Number of items a provider has to return for the requested page: the page itself plus
+     * the one item that tells whether another page follows. Providers cannot start after a
+     * cursor, so a later page also needs everything before it and asks for the largest page.
+     *
+     * @return the limit to push down, or null for an unpaged query
+     */
+    private static Integer providerLimit(SearchQuery query) {
+        if (!query.isPaged()) {
+            return null;
+        }
+        return query.cursor() == null ? query.limit() + 1 : SearchQuery.MAX_LIMIT;
+    }
+
+    private Optional<Map<String, ProviderResult>> fetchLiveForCache(QueryKey queryKey,
+                                                                    List<ActivityProvider> liveTargets,
+                                                                    SearchQuery query) {
+        SharedFanOut fanOut = joinFanOut(queryKey, liveTargets, query);
+        return awaitFanOut(fanOut, liveTargets, (provider, result) -> {}).flatMap(this::cacheable);
+    }
+
+    private record FanOutKey(QueryKey query, Set<String> providers) {}
+
+    /**
+     * One live fan-out shared by every concurrent search for the same query.
+     * Subscribers are counted; when the last one leaves before the fan-out finished,
+     * the upstream calls are cancelled and the fan-out is no longer joinable.
+     */
+    private static final class SharedFanOut {
+
+        final Map<String, CompletableFuture<ProviderResult>> results = new HashMap<>();
+        final CompletableFuture<Map<String, ProviderResult>> completion = new CompletableFuture<>();
+        final long createdNanos = System.nanoTime();
+        volatile LiveCalls calls;
+        private int subscribers;
+        private boolean abandoned;
+        private boolean started;
+
+        SharedFanOut(List<ActivityProvider> liveTargets) {
+            for (ActivityProvider provider : liveTargets) {
+                results.put(provider.getProviderName(), new CompletableFuture<>());
+            }
+        }
+
+        synchronized boolean tryJoin() {
+            if (abandoned) {
+                return false;
+            }
+            subscribers++;
+            return true;
+        }
+
+        /**
+         * @return true for exactly one subscriber, which has to start the upstream calls
+         */
+        synchronized boolean claimStart() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        synchronized void leave() {
+            subscribers--;
+            if (subscribers == 0 && !completion.isDone()) {
+                abandoned = true;
+                LiveCalls liveCalls = calls;
+                if (liveCalls != null) {
+                    liveCalls.calls().values().forEach(call -> call.cancel(true));
+                }
+            }
+        }
+
+        void fail(Throwable error) {
+            results.values().forEach(result -> result.completeExceptionally(error));
+            completion.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Joins the in-flight fan-out for this query, or starts one. Identical concurrent
+     * searches therefore cost one upstream request per provider instead of one per search.
+     * The caller must hand the fan-out to {@link #awaitFanOut}, which leaves it again.
+     */
+    private SharedFanOut joinFanOut(QueryKey queryKey, List<ActivityProvider> liveTargets, SearchQuery query) {
+        Set<String> providerNames = liveTargets.stream()
+                .map(ActivityProvider::getProviderName)
+                .collect(Collectors.toUnmodifiableSet());
+        FanOutKey key = new FanOutKey(queryKey, providerNames);
+
+        while (true) {
+            SharedFanOut fanOut = inFlight.computeIfAbsent(key, k -> new SharedFanOut(liveTargets));
+            if (fanOut.tryJoin()) {
+                if (fanOut.claimStart()) {
+                    startFanOut(key, fanOut, liveTargets, query);
+                }
+                return fanOut;
+            }
+            // Every subscriber left and it was cancelled; start over with a fresh one
+            inFlight.remove(key, fanOut);
+        }
+    }
+
+    private void startFanOut(FanOutKey key, SharedFanOut fanOut, List<ActivityProvider> liveTargets, SearchQuery query) {
+        try {
+            LiveCalls liveCalls = startLive(liveTargets, query);
+            fanOut.calls = liveCalls;
+            executor.submit(() -> {
+                try {
+                    Map<String, ProviderResult> fetched = awaitLive(liveCalls,
+                            (provider, result) -> fanOut.results.get(provider.getProviderName()).complete(result));
+                    fanOut.completion.complete(fetched);
+                } catch (RuntimeException e) {
+                    logger.warn("Live fan-out failed: {}", e.getMessage());
+                    fanOut.fail(e);
+                } finally {
+                    inFlight.remove(key, fanOut);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not start live fan-out: {}", e.getMessage());
+            inFlight.remove(key, fanOut);
+            fanOut.fail(e);
+        }
+    }
+
+    /**
+     * Hands each provider's result to the callback as it arrives, then leaves the fan-out.
+     * If the shared fan-out itself failed, every subscriber gets a FAILED status for each
+     * provider that had no result yet, as a search without a shared fan-out would.
+     *
+     * @return the unfiltered result of each provider, or empty if the caller was interrupted
+     */
+    private Optional<Map<String, ProviderResult>> awaitFanOut(SharedFanOut fanOut,
+                                                              List<ActivityProvider> liveTargets,
+                                                              BiConsumer<ActivityProvider, ProviderResult> onResult) {
+        Map<String, ProviderResult> fetched = new ConcurrentHashMap<>();
+        try {
+            CompletableFuture<?>[] deliveries = liveTargets.stream()
+                    .map(provider -> fanOut.results.get(provider.getProviderName())
+                            .exceptionally(error -> new ProviderResult(List.of(),
+                                    status(provider.getProviderName(), Outcome.FAILED, 0, fanOut.createdNanos)))
+                            .thenAcceptAsync(result -> {
+                                fetched.put(provider.getProviderName(), result);
+                                onResult.accept(provider, result);
+                            }, executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(deliveries).get();
+            return Optional.of(fetched);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            logger.warn("Live result delivery failed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return Optional.empty();
+        } finally {
+            fanOut.leave();
+        }
+    }
+
+    /**
+     * Only complete fan-outs are cached, so a provider that failed or timed out is retried
+     * by the next search instead of being missing for a whole TTL.
+     */
+    private Optional<Map<String, ProviderResult>> cacheable(Map<String, ProviderResult> fetched) {
+        boolean complete = fetched.values().stream().allMatch(result -> result.status().isComplete());
+        return complete ? Optional.of(Map.copyOf(fetched)) : Optional.empty();
+    }
+
+    private boolean coversAll(Map<String, ProviderResult> cached, List<ActivityProvider> liveTargets) {
+        return liveTargets.stream().allMatch(provider -> cached.containsKey(provider.getProviderName()));
+    }
+
+    /**
+     * Runs {@link #search(SearchQuery, Consumer)} on the service's executor, for callers
+     * that stream batches to a client instead of waiting on a request thread.
+     *
+     * Cancelling the returned future interrupts the search, which then stops waiting on
+     * its providers and delivers no further batches.
+     *
+     * @param query keyword, country, provider, geographic filter and sort order
+     * @param onBatch receives each provider's filtered and ordered items
+     * @return future completed with the combined result
+     */
+    public CompletableFuture<SearchResult> searchAsync(SearchQuery query, Consumer<ProviderBatch> onBatch) {
+        CompletableFuture<SearchResult> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(search(query, batch -> {
+                    if (!result.isDone()) {
+                        onBatch.accept(batch);
+                    }
+                }));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Applies the country and date filters and sort order to one provider's items and passes them
+     * to the listener, serialized with every other delivery of the same search. For a paged
+     * query the batch holds only the provider's share of the first page.
+     */
+    private ProviderResult deliver(SearchQuery query, String providerName, List<WazaiMapItem> items,
+                                   ProviderStatus status, Consumer<ProviderBatch> onBatch, Object deliveryLock) {
+        List<WazaiMapItem> filtered = filterByCountry(items, query.country());
+        if (query.dates() != null) {
+            filtered = filtered.stream().filter(query.dates()::matches).toList();
+        }
+        synchronized (deliveryLock) {
+            try {
+                List<WazaiMapItem> batch = query.isPaged()
+                        ? ResultOrdering.page(filtered, query).items()
+                        : ResultOrdering.sort(filtered, query);
+                onBatch.accept(new ProviderBatch(providerName, batch));
+            } catch (RuntimeException e) {
+                logger.warn("Could not deliver results of {}: {}", providerName, e.getMessage());
+            }
+        }
+        return new ProviderResult(filtered, status);
     }
 
     private boolean isProviderMatch(ActivityProvider provider, String targetProviderName) {
@@ -89,16 +687,95 @@ public class WazaiSearchService {
                 .toList();
     }
 
-    private List<WazaiMapItem> searchSingleProvider(ActivityProvider provider, String keyword) {
+    /**
+     * Returns the catalog snapshot that can answer this query for the provider,
+     * or empty if the provider has to be searched live. A browse-only listing holds only
+     * the latest events, so keyword queries go upstream, and so do date queries whose range
+     * the provider's API can express; any other range is filtered from the listing.
+     */
+    private Optional<CatalogSnapshot> catalogSnapshotFor(ActivityProvider provider, SearchQuery query) {
+        IngestionMode mode = provider.getIngestionMode();
+        boolean hasKeyword = query.keyword() != null && !query.keyword().isBlank();
+        boolean upstreamDates = provider.canFilterByDates(query.dates());
+        boolean servable = mode == IngestionMode.CATALOG
+                || (mode == IngestionMode.CATALOG_BROWSE_ONLY && !hasKeyword && !upstreamDates);
+        return servable ? catalog.snapshot(provider.getProviderName()) : Optional.empty();
+    }
+
+    private record ProviderResult(List<WazaiMapItem> items, ProviderStatus status) {}
+
+    /**
+     * Waits for a single provider until its own budget or the request deadline,
+     * whichever comes first. All providers were started together, so waiting on
+     * them one after another still bounds the total wait by the latest deadline.
+     */
+    private ProviderResult awaitProvider(ActivityProvider provider,
+                                         Future<List<WazaiMapItem>> future,
+                                         long startNanos,
+                                         long requestDeadline) {
+        ProviderResult result = awaitOutcome(provider, future, startNanos, requestDeadline);
+        metrics.recordProviderCall(result.status(), System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private ProviderResult awaitOutcome(ActivityProvider provider,
+                                        Future<List<WazaiMapItem>> future,
+                                        long startNanos,
+                                        long requestDeadline) {
+        String name = provider.getProviderName();
+        CircuitBreaker breaker = breakers.forProvider(name);
+        Duration budget = breaker.timeout(properties.budgetFor(name));
+        long providerDeadline = startNanos + budget.toNanos();
+        boolean cutByRequestDeadline = requestDeadline < providerDeadline;
+        long deadline = Math.min(providerDeadline, requestDeadline);
+
         try {
-            return provider.search(keyword);
-        } catch (Exception e) {
+            List<WazaiMapItem> items = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            breaker.onSuccess(System.nanoTime() - startNanos);
+            List<WazaiMapItem> safeItems = items != null ? items : List.of();
+            return new ProviderResult(safeItems, status(name, Outcome.OK, safeItems.size(), startNanos));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            Outcome outcome = cutByRequestDeadline ? Outcome.SKIPPED : Outcome.TIMED_OUT;
+            if (outcome == Outcome.TIMED_OUT) {
+                breaker.onFailure();
+                logger.warn("Provider {} {} after its {} budget", name, outcome, budget);
+            } else {
+                // The request deadline cut the wait short; the provider's own budget never ran out
+                breaker.onIgnored();
+                logger.warn("Provider {} {} at the request deadline after {} ms", name, outcome,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+            return new ProviderResult(List.of(), status(name, outcome, 0, startNanos));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CircuitOpenException) {
+                return new ProviderResult(List.of(), status(name, Outcome.CIRCUIT_OPEN, 0, startNanos));
+            }
             // Log the error but don't fail the entire search
-            // TODO: Add proper logging
-            return List.of();
+            breaker.onFailure();
+            logger.warn("Provider {} failed: {}", name, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return new ProviderResult(List.of(), status(name, Outcome.FAILED, 0, startNanos));
+        } catch (CancellationException e) {
+            // Every search waiting on a shared fan-out went away
+            breaker.onIgnored();
+            return new ProviderResult(List.of(), status(name, Outcome.SKIPPED, 0, startNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            breaker.onIgnored();
+            return new ProviderResult(List.of(), status(name, Outcome.SKIPPED, 0, startNanos));
         }
     }
 
+    private ProviderStatus withItemCount(ProviderStatus status, int itemCount) {
+        return new ProviderStatus(status.provider(), status.outcome(), itemCount, status.elapsedMillis());
+    }
+
+    private ProviderStatus status(String name, Outcome outcome, int itemCount, long startNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new ProviderStatus(name, outcome, itemCount, elapsedMillis);
+    }
+
     /**
      * Filter map items by country code.
      *
@@ -111,7 +788,7 @@ public class WazaiSearchService {
             return items;
         }
 
-        Country targetCountry = parseCountryCode(countryCode);
+        Country targetCountry = Country.fromCode(countryCode);
         if (targetCountry == null) {
             return items; // Invalid country code, return all
         }
@@ -120,18 +797,4 @@ public class WazaiSearchService {
                 .filter(item -> item.country() == targetCountry)
                 .toList();
     }
-
-    /**
-     * Parse country code string to Country enum.
-     *
-     * @param countryCode "TW", "JP", etc.
-     * @return corresponding Country enum, or null if invalid
-     */
-    private Country parseCountryCode(String countryCode) {
-        return switch (countryCode.toUpperCase()) {
-            case "TW" -> Country.TAIWAN;
-            case "JP" -> Country.JAPAN;
-            default -> null;
-        };
-    }
 }
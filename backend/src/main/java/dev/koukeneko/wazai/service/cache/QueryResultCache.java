@@ -0,0 +1,132 @@
+package dev.koukeneko.wazai.service.cache;
+
+import dev.koukeneko.wazai.dto.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache with stale-while-revalidate semantics.
+ *
+ * An entry younger than {@code ttl} is fresh. Until {@code ttl + staleWhileRevalidate}
+ * it is still served, but the first caller to see it stale starts one background refresh;
+ * later callers keep getting the stale value until the refresh replaces it. Older entries
+ * are misses. At most {@code maxEntries} keys are kept, evicting the least recently used.
+ *
+ * @param <K> cache key
+ * @param <V> cached value
+ */
+public final class QueryResultCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final Executor refreshExecutor;
+    private final int maxEntries;
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private static final class Entry<V> {
+        final V value;
+        final long storedAtNanos;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(V value, long storedAtNanos) {
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+
+    /**
+     * @param ttl how long an entry is served without refreshing
+     * @param staleWhileRevalidate how long past {@code ttl} an entry is still served while refreshing
+     * @param maxEntries maximum number of keys kept
+     * @param refreshExecutor runs background refreshes
+     */
+    public QueryResultCache(Duration ttl, Duration staleWhileRevalidate, int maxEntries, Executor refreshExecutor) {
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > QueryResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value if it is fresh or stale but still servable.
+     * A stale hit starts a background refresh unless one is already running for the key.
+     *
+     * @param key the cache key
+     * @param refresher computes a replacement value; an empty result keeps the stale entry
+     * @return the cached value, or empty on a miss
+     */
+    public Optional<V> get(K key, Supplier<Optional<V>> refresher) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        long age = System.nanoTime() - entry.storedAtNanos;
+        if (age < ttl.toNanos()) {
+            hits.incrementAndGet();
+            return Optional.of(entry.value);
+        }
+        if (age >= ttl.plus(staleWhileRevalidate).toNanos()) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        staleHits.incrementAndGet();
+        if (entry.refreshing.compareAndSet(false, true)) {
+            refreshes.incrementAndGet();
+            refreshExecutor.execute(() -> refresh(key, entry, refresher));
+        }
+        return Optional.of(entry.value);
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(size, maxEntries, hits.get(), staleHits.get(), misses.get(), refreshes.get());
+    }
+
+    private void refresh(K key, Entry<V> stale, Supplier<Optional<V>> refresher) {
+        try {
+            refresher.get().ifPresent(value -> put(key, value));
+        } catch (RuntimeException e) {
+            logger.warn("Background refresh of {} failed: {}", key, e.getMessage());
+        } finally {
+            // Lets the next stale hit retry if the entry was not replaced
+            stale.refreshing.set(false);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.config.IngestionProperties;
+import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ActivityProvider.IngestionMode;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports whether the critical catalogs are warm, for the readiness probe.
+ *
+ * The instance is OUT_OF_SERVICE until every critical provider has published its first
+ * snapshot, and UP afterwards. Once the warm-up timeout has passed, counted from when
+ * {@link CatalogIngestionService#start()} began the warm-up, it reports UP anyway,
+ * with the still-cold providers listed, so a broken upstream degrades search results
+ * instead of keeping every instance out of rotation.
+ */
+@Component
+public class CatalogHealthIndicator implements HealthIndicator {
+
+    private final EventCatalog catalog;
+    private final IngestionProperties properties;
+    private final List<String> criticalProviders;
+    private final CatalogIngestionService ingestion;
+
+    public CatalogHealthIndicator(List<ActivityProvider> providers, EventCatalog catalog,
+                                  IngestionProperties properties, CatalogIngestionService ingestion) {
+        this.catalog = catalog;
+        this.ingestion = ingestion;
+        this.properties = properties;
+        this.criticalProviders = providers.stream()
+                .filter(provider -> provider.getIngestionMode() != IngestionMode.LIVE)
+                .map(ActivityProvider::getProviderName)
+                .filter(name -> properties.criticalProviders().isEmpty()
+                        || properties.criticalProviders().contains(name))
+                .toList();
+    }
+
+    @Override
+    public Health health() {
+        if (!properties.isEnabled()) {
+            return Health.up().withDetail("ingestion", "disabled").build();
+        }
+
+        Map<String, String> catalogs = new TreeMap<>();
+        boolean allWarm = true;
+        for (String provider : criticalProviders) {
+            boolean warm = catalog.snapshot(provider).isPresent();
+            catalogs.put(provider, warm ? "warm" : "cold");
+            allWarm &= warm;
+        }
+
+        boolean timedOut = ingestion.sinceWarmUpStarted()
+                .map(elapsed -> elapsed.compareTo(properties.warmupTimeout()) >= 0)
+                .orElse(false);
+        Health.Builder health = allWarm || timedOut ? Health.up() : Health.status(Status.OUT_OF_SERVICE);
+        if (!allWarm && timedOut) {
+            health.withDetail("warmup", "timed out");
+        }
+        return health.withDetail("catalogs", catalogs).build();
+    }
+}
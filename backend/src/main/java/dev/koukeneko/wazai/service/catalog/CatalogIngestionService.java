@@ -0,0 +1,178 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.config.IngestionProperties;
+import dev.koukeneko.wazai.config.IngestionProperties.Schedule;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ActivityProvider.IngestionMode;
+import dev.koukeneko.wazai.service.metrics.SearchMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background ingestion engine that keeps the EventCatalog filled.
+ *
+ * Each catalog-capable provider is refreshed on its own schedule: a fixed interval
+ * plus random jitter after a successful run, and exponential backoff after failures.
+ * Fetches run on virtual threads so a slow provider never delays the others.
+ *
+ * The service also runs the startup warm-up: every provider's {@link ActivityProvider#warmUp()}
+ * runs in parallel once the application is up, and a catalog provider's first refresh
+ * follows its own warm-up, so nothing on the startup path waits for an upstream.
+ */
+@Service
+public class CatalogIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogIngestionService.class);
+
+    private final List<ActivityProvider> providers;
+    private final EventCatalog catalog;
+    private final IngestionProperties properties;
+    private final SearchMetrics metrics;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("catalog-scheduler").daemon().factory());
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // System.nanoTime() when start() began the warm-up; null before that
+    private volatile Long warmUpStartedNanos;
+
+    public CatalogIngestionService(List<ActivityProvider> providers,
+                                   EventCatalog catalog,
+                                   IngestionProperties properties,
+                                   SearchMetrics metrics) {
+        this.providers = providers;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Warms up every provider and starts the refresh loop of every catalog-capable one
+     * once the application is up. Providers talk to different upstream hosts, so all
+     * warm-ups and first refreshes start immediately.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        warmUpStartedNanos = System.nanoTime();
+        if (!properties.isEnabled()) {
+            logger.info("Catalog ingestion disabled; all searches go to providers directly");
+        }
+
+        for (ActivityProvider provider : providers) {
+            boolean ingested = properties.isEnabled() && provider.getIngestionMode() != IngestionMode.LIVE;
+            fetchExecutor.execute(() -> {
+                warmUp(provider);
+                if (ingested) {
+                    refresh(provider, 0);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the time since the startup warm-up began, or empty if it hasn't yet
+     */
+    public Optional<Duration> sinceWarmUpStarted() {
+        Long startedNanos = warmUpStartedNanos;
+        return startedNanos == null
+                ? Optional.empty()
+                : Optional.of(Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    private void scheduleRefresh(ActivityProvider provider, int consecutiveFailures, Duration delay) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(
+                () -> fetchExecutor.execute(() -> refresh(provider, consecutiveFailures)),
+                delay.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    private void warmUp(ActivityProvider provider) {
+        long startNanos = System.nanoTime();
+        try {
+            provider.warmUp();
+            logger.debug("Warmed up {} in {} ms", provider.getProviderName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (Exception e) {
+            logger.warn("Warm-up of {} threw: {}", provider.getProviderName(), e.getMessage());
+        }
+    }
+
+    private void refresh(ActivityProvider provider, int consecutiveFailures) {
+        String name = provider.getProviderName();
+        Schedule schedule = properties.scheduleFor(name);
+
+        if (refreshSnapshot(provider)) {
+            scheduleRefresh(provider, 0, schedule.interval().plus(jitter(schedule)));
+            return;
+        }
+
+        int failures = consecutiveFailures + 1;
+        Duration backoff = schedule.backoffAfter(failures);
+        logger.warn("Catalog refresh of {} failed {} time(s) in a row; retrying in {}", name, failures, backoff);
+        scheduleRefresh(provider, failures, backoff.plus(jitter(schedule)));
+    }
+
+    /**
+     * Fetches the provider's full listing and publishes it.
+     * Providers swallow most upstream errors and return an empty list, so an empty
+     * listing never replaces a non-empty snapshot; it counts as a failed refresh instead.
+     *
+     * @return true if the refresh succeeded
+     */
+    private boolean refreshSnapshot(ActivityProvider provider) {
+        String name = provider.getProviderName();
+        long startNanos = System.nanoTime();
+        try {
+            List<WazaiMapItem> items = provider.fetchListing();
+            List<WazaiMapItem> safeItems = items != null ? items : List.of();
+
+            boolean hasPreviousItems = catalog.snapshot(name)
+                    .map(snapshot -> !snapshot.items().isEmpty())
+                    .orElse(false);
+            if (safeItems.isEmpty() && hasPreviousItems) {
+                metrics.recordCatalogRefresh(name, false, System.nanoTime() - startNanos, 0);
+                return false;
+            }
+
+            catalog.publish(name, safeItems);
+            metrics.recordCatalogRefresh(name, true, System.nanoTime() - startNanos, safeItems.size());
+            logger.info("Catalog refreshed {} with {} items in {} ms", name, safeItems.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return true;
+        } catch (Exception e) {
+            logger.warn("Catalog refresh of {} threw: {}", name, e.getMessage());
+            metrics.recordCatalogRefresh(name, false, System.nanoTime() - startNanos, 0);
+            return false;
+        }
+    }
+
+    private Duration jitter(Schedule schedule) {
+        long maxJitterMillis = schedule.jitter().toMillis();
+        if (maxJitterMillis <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(maxJitterMillis + 1));
+    }
+}
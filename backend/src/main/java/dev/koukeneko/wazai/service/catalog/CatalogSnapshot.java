@@ -0,0 +1,80 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.GeoFilter;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable view of everything one provider returned in its latest ingestion run.
+ * The indexes are built once per refresh, so only the refreshed provider is re-indexed.
+ *
+ * @param provider the provider's display name
+ * @param keywordIndex keyword index over the provider's full, unfiltered listing
+ * @param spatialIndex spatial index over the same listing
+ * @param clusterIndex precomputed marker clusters over the same listing
+ * @param refreshedAt when the listing was fetched
+ */
+public record CatalogSnapshot(
+        String provider,
+        KeywordIndex keywordIndex,
+        SpatialIndex spatialIndex,
+        ClusterIndex clusterIndex,
+        Instant refreshedAt
+) {
+
+    /**
+     * Indexes a freshly fetched listing.
+     *
+     * @param provider the provider's display name
+     * @param items the provider's full, unfiltered listing
+     * @param refreshedAt when the listing was fetched
+     * @return the snapshot
+     */
+    public static CatalogSnapshot of(String provider, List<WazaiMapItem> items, Instant refreshedAt) {
+        KeywordIndex keywordIndex = KeywordIndex.build(items);
+        List<WazaiMapItem> indexedItems = keywordIndex.items();
+        return new CatalogSnapshot(
+                provider,
+                keywordIndex,
+                SpatialIndex.build(indexedItems),
+                ClusterIndex.build(indexedItems),
+                refreshedAt
+        );
+    }
+
+    public List<WazaiMapItem> items() {
+        return keywordIndex.items();
+    }
+
+    /**
+     * Returns the items matching the keyword, using the same rules as live provider searches.
+     *
+     * @param keyword the search term, or null/blank for every item
+     * @return matching items
+     */
+    public List<WazaiMapItem> search(String keyword) {
+        return keywordIndex.search(keyword);
+    }
+
+    /**
+     * Returns the items matching both the keyword and the geographic filter.
+     *
+     * @param keyword the search term, or null/blank for every item
+     * @param geo the geographic filter, or null for no restriction
+     * @return matching items
+     */
+    public List<WazaiMapItem> search(String keyword, GeoFilter geo) {
+        BoundingBox bounds = geo != null ? geo.searchBounds() : null;
+        if (bounds == null) {
+            return search(keyword);
+        }
+
+        BitSet inBounds = spatialIndex.query(bounds);
+        List<WazaiMapItem> matches = keywordIndex.search(keyword, inBounds);
+        return geo.radiusKm() == null ? matches : matches.stream().filter(geo::matches).toList();
+    }
+}
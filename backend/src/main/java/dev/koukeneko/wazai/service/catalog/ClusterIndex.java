@@ -0,0 +1,220 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, precomputed marker clusters for every zoom level of one provider's listing.
+ *
+ * Items are projected to Web Mercator and bucketed into square cells roughly one cluster
+ * radius wide on screen at each zoom level. Cells only hold aggregates (count, coordinate
+ * sums and a few representative items), so cells from several providers' indexes can be
+ * merged at query time without reprocessing any items. That lets the catalog rebuild
+ * clusters one provider at a time when it refreshes.
+ */
+public final class ClusterIndex {
+
+    public static final int MAX_ZOOM = 16;
+
+    private static final int TILE_SIZE_PX = 256;
+    private static final int CLUSTER_RADIUS_PX = 60;
+    private static final int REPRESENTATIVES_PER_CELL = 3;
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+
+    // Earliest events first; places and undated events after
+    private static final Comparator<WazaiMapItem> REPRESENTATIVE_ORDER = Comparator.comparing(
+            ClusterIndex::startTimeOf,
+            Comparator.nullsLast(Comparator.naturalOrder())
+    );
+
+    private final List<Map<Country, Map<Long, Cell>>> cellsByZoom;
+
+    private ClusterIndex(List<Map<Country, Map<Long, Cell>>> cellsByZoom) {
+        this.cellsByZoom = cellsByZoom;
+    }
+
+    /**
+     * Aggregated cluster cell.
+     *
+     * @param zoom zoom level the cell belongs to
+     * @param x cell column in Web Mercator space
+     * @param y cell row in Web Mercator space
+     * @param count number of items in the cell
+     * @param latitudeSum sum of item latitudes, for the centroid
+     * @param longitudeSum sum of item longitudes, for the centroid
+     * @param representatives the first few items of the cell
+     */
+    public record Cell(
+            int zoom,
+            int x,
+            int y,
+            int count,
+            double latitudeSum,
+            double longitudeSum,
+            List<WazaiMapItem> representatives
+    ) {
+
+        public Coordinates centroid() {
+            return new Coordinates(latitudeSum / count, longitudeSum / count);
+        }
+
+        /**
+         * Combines two aggregates of the same cell.
+         */
+        public Cell merge(Cell other) {
+            List<WazaiMapItem> combined = Stream.concat(representatives.stream(), other.representatives.stream())
+                    .sorted(REPRESENTATIVE_ORDER)
+                    .limit(REPRESENTATIVES_PER_CELL)
+                    .toList();
+            return new Cell(zoom, x, y, count + other.count,
+                    latitudeSum + other.latitudeSum, longitudeSum + other.longitudeSum, combined);
+        }
+    }
+
+    /**
+     * Builds cluster cells for every zoom level from 0 to {@link #MAX_ZOOM}.
+     *
+     * @param items the items to cluster; items without coordinates are skipped
+     * @return the index
+     */
+    public static ClusterIndex build(List<WazaiMapItem> items) {
+        List<Map<Country, Map<Long, Cell>>> cellsByZoom = new ArrayList<>(MAX_ZOOM + 1);
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            int cellsPerAxis = cellsPerAxis(zoom);
+            Map<Country, Map<Long, List<WazaiMapItem>>> grouped = new EnumMap<>(Country.class);
+
+            for (WazaiMapItem item : items) {
+                Coordinates coordinates = item.coordinates();
+                if (coordinates == null) {
+                    continue;
+                }
+                int x = cellX(coordinates.longitude(), cellsPerAxis);
+                int y = cellY(coordinates.latitude(), cellsPerAxis);
+                Country country = item.country() != null ? item.country() : Country.DEFAULT;
+                grouped.computeIfAbsent(country, key -> new HashMap<>())
+                        .computeIfAbsent(cellKey(x, y, cellsPerAxis), key -> new ArrayList<>())
+                        .add(item);
+            }
+
+            Map<Country, Map<Long, Cell>> cellsByCountry = new EnumMap<>(Country.class);
+            int currentZoom = zoom;
+            grouped.forEach((country, cells) -> {
+                Map<Long, Cell> aggregated = new HashMap<>();
+                cells.forEach((key, cellItems) -> aggregated.put(key, aggregate(currentZoom, key, cellsPerAxis, cellItems)));
+                cellsByCountry.put(country, aggregated);
+            });
+            cellsByZoom.add(cellsByCountry);
+        }
+
+        return new ClusterIndex(cellsByZoom);
+    }
+
+    /**
+     * Adds this index's cells inside the box at the given zoom to the merge target.
+     *
+     * @param zoom zoom level, clamped to 0..{@link #MAX_ZOOM}
+     * @param box viewport to collect cells for
+     * @param country country to restrict to, or null for every country
+     * @param into cells keyed by cell ID, merged across indexes
+     */
+    public void collect(int zoom, BoundingBox box, Country country, Map<Long, Cell> into) {
+        int level = clampZoom(zoom);
+        int cellsPerAxis = cellsPerAxis(level);
+        Map<Country, Map<Long, Cell>> cellsByCountry = cellsByZoom.get(level);
+
+        int minX = cellX(box.minLongitude(), cellsPerAxis);
+        int maxX = cellX(box.maxLongitude(), cellsPerAxis);
+        int minY = cellY(box.maxLatitude(), cellsPerAxis);
+        int maxY = cellY(box.minLatitude(), cellsPerAxis);
+
+        int columns = box.crossesAntimeridian() ? cellsPerAxis - minX + maxX + 1 : maxX - minX + 1;
+        long cellsInBox = (long) columns * (maxY - minY + 1);
+
+        for (Map.Entry<Country, Map<Long, Cell>> entry : cellsByCountry.entrySet()) {
+            if (country != null && entry.getKey() != country) {
+                continue;
+            }
+            Map<Long, Cell> cells = entry.getValue();
+            if (cellsInBox <= cells.size()) {
+                // Small viewport: look up each cell it covers
+                for (int i = 0; i < columns; i++) {
+                    int x = (minX + i) % cellsPerAxis;
+                    for (int y = minY; y <= maxY; y++) {
+                        long key = cellKey(x, y, cellsPerAxis);
+                        Cell cell = cells.get(key);
+                        if (cell != null) {
+                            into.merge(key, cell, Cell::merge);
+                        }
+                    }
+                }
+            } else {
+                // Large viewport: walk the occupied cells instead
+                for (Map.Entry<Long, Cell> cellEntry : cells.entrySet()) {
+                    Cell cell = cellEntry.getValue();
+                    boolean inColumns = box.crossesAntimeridian()
+                            ? cell.x() >= minX || cell.x() <= maxX
+                            : cell.x() >= minX && cell.x() <= maxX;
+                    if (inColumns && cell.y() >= minY && cell.y() <= maxY) {
+                        into.merge(cellEntry.getKey(), cell, Cell::merge);
+                    }
+                }
+            }
+        }
+    }
+
+    public static int clampZoom(int zoom) {
+        return Math.max(0, Math.min(MAX_ZOOM, zoom));
+    }
+
+    private static Cell aggregate(int zoom, long key, int cellsPerAxis, List<WazaiMapItem> items) {
+        double latitudeSum = 0;
+        double longitudeSum = 0;
+        for (WazaiMapItem item : items) {
+            latitudeSum += item.coordinates().latitude();
+            longitudeSum += item.coordinates().longitude();
+        }
+        List<WazaiMapItem> representatives = items.stream()
+                .sorted(REPRESENTATIVE_ORDER)
+                .limit(REPRESENTATIVES_PER_CELL)
+                .toList();
+        return new Cell(zoom, (int) (key / cellsPerAxis), (int) (key % cellsPerAxis),
+                items.size(), latitudeSum, longitudeSum, representatives);
+    }
+
+    private static LocalDateTime startTimeOf(WazaiMapItem item) {
+        return item instanceof WazaiEvent event ? event.startTime() : null;
+    }
+
+    private static int cellsPerAxis(int zoom) {
+        return (int) Math.ceil((double) TILE_SIZE_PX * (1L << zoom) / CLUSTER_RADIUS_PX);
+    }
+
+    private static int cellX(double longitude, int cellsPerAxis) {
+        double x = (longitude + 180) / 360;
+        return Math.min((int) (x * cellsPerAxis), cellsPerAxis - 1);
+    }
+
+    private static int cellY(double latitude, int cellsPerAxis) {
+        double clamped = Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(clamped));
+        double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+        return Math.max(0, Math.min((int) (y * cellsPerAxis), cellsPerAxis - 1));
+    }
+
+    private static long cellKey(int x, int y, int cellsPerAxis) {
+        return (long) x * cellsPerAxis + y;
+    }
+}
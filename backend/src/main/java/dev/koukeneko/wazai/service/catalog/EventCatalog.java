@@ -0,0 +1,52 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared in-memory catalog of map items, holding one snapshot per provider.
+ *
+ * Snapshots are replaced wholesale by the ingestion engine, so readers always see
+ * a complete listing from a single refresh and never block on writers.
+ */
+@Component
+public class EventCatalog {
+
+    private final Map<String, CatalogSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the snapshot of the given provider.
+     *
+     * @param provider the provider's display name
+     * @param items the provider's complete listing
+     * @return the newly published snapshot
+     */
+    public CatalogSnapshot publish(String provider, List<WazaiMapItem> items) {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(provider, items, Instant.now());
+        snapshots.put(provider, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Returns the latest snapshot of the given provider, if it has been ingested yet.
+     *
+     * @param provider the provider's display name
+     * @return the snapshot, or empty while the provider is still cold
+     */
+    public Optional<CatalogSnapshot> snapshot(String provider) {
+        return Optional.ofNullable(snapshots.get(provider));
+    }
+
+    /**
+     * Returns all published snapshots keyed by provider name.
+     */
+    public Map<String, CatalogSnapshot> snapshots() {
+        return Map.copyOf(snapshots);
+    }
+}
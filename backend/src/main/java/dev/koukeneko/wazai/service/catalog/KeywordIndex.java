@@ -0,0 +1,290 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.util.SearchHelper;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable inverted index over the title, description and ID of map items.
+ *
+ * Text is split into runs of Latin letters/digits, which are indexed as whole word
+ * tokens, and runs of CJK characters, which are indexed as single characters and
+ * character bigrams. A query is tokenized the same way and resolved by intersecting
+ * posting lists; the surviving candidates are then verified with
+ * {@link SearchHelper#matchesKeyword}, so results are exactly those of a linear scan.
+ *
+ * Because matching is substring-based, a Latin query run that touches the edge of the
+ * query may be part of a longer word in the item (e.g. "java" inside "javascript").
+ * Such runs are looked up by prefix, suffix or infix over the token dictionary, which
+ * is far smaller than the indexed text.
+ */
+public final class KeywordIndex {
+
+    private final List<WazaiMapItem> items;
+    private final NavigableMap<String, BitSet> wordPostings;
+    private final Map<String, BitSet> cjkPostings;
+
+    private KeywordIndex(List<WazaiMapItem> items,
+                         NavigableMap<String, BitSet> wordPostings,
+                         Map<String, BitSet> cjkPostings) {
+        this.items = items;
+        this.wordPostings = wordPostings;
+        this.cjkPostings = cjkPostings;
+    }
+
+    /**
+     * Builds an index over the given items. Item order is preserved in search results.
+     *
+     * @param items the items to index
+     * @return the index
+     */
+    public static KeywordIndex build(List<WazaiMapItem> items) {
+        List<WazaiMapItem> indexedItems = List.copyOf(items);
+        NavigableMap<String, BitSet> wordPostings = new TreeMap<>();
+        Map<String, BitSet> cjkPostings = new HashMap<>();
+
+        for (int docId = 0; docId < indexedItems.size(); docId++) {
+            WazaiMapItem item = indexedItems.get(docId);
+            Set<String> words = new HashSet<>();
+            Set<String> cjkGrams = new HashSet<>();
+            for (String field : new String[]{item.title(), item.description(), item.id()}) {
+                if (field != null) {
+                    collectTerms(field.toLowerCase(), words, cjkGrams);
+                }
+            }
+            for (String word : words) {
+                wordPostings.computeIfAbsent(word, key -> new BitSet()).set(docId);
+            }
+            for (String gram : cjkGrams) {
+                cjkPostings.computeIfAbsent(gram, key -> new BitSet()).set(docId);
+            }
+        }
+
+        return new KeywordIndex(indexedItems, wordPostings, cjkPostings);
+    }
+
+    public List<WazaiMapItem> items() {
+        return items;
+    }
+
+    /**
+     * Returns the indexed items matching the keyword, in index order.
+     * Semantics are identical to filtering with {@link SearchHelper#matchesKeyword}.
+     *
+     * @param keyword the search term, or null/blank for every item
+     * @return matching items
+     */
+    public List<WazaiMapItem> search(String keyword) {
+        return search(keyword, null);
+    }
+
+    /**
+     * Returns the indexed items matching the keyword among the allowed document IDs,
+     * e.g. the result of a {@link SpatialIndex} query over the same item list.
+     *
+     * @param keyword the search term, or null/blank for every allowed item
+     * @param allowed document IDs to restrict the search to, or null for all items
+     * @return matching items, in index order
+     */
+    public List<WazaiMapItem> search(String keyword, BitSet allowed) {
+        boolean blankKeyword = keyword == null || keyword.isBlank();
+        if (blankKeyword && allowed == null) {
+            return items;
+        }
+
+        BitSet candidates = blankKeyword ? null : candidatesFor(keyword.toLowerCase());
+        if (candidates == null) {
+            // No keyword, or a query without indexable characters (e.g. only punctuation)
+            candidates = new BitSet(items.size());
+            candidates.set(0, items.size());
+        }
+        if (allowed != null) {
+            candidates.and(allowed);
+        }
+
+        List<WazaiMapItem> results = new ArrayList<>(candidates.cardinality());
+        for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+            WazaiMapItem item = items.get(docId);
+            if (SearchHelper.matchesKeyword(item, keyword)) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Intersects the posting lists of every run in the lowercased query.
+     *
+     * @return candidate document IDs, or null if the query contains no indexable run
+     */
+    private BitSet candidatesFor(String query) {
+        BitSet candidates = null;
+        int length = query.length();
+        int position = 0;
+
+        while (position < length) {
+            int codePoint = query.codePointAt(position);
+            CharClass charClass = classify(codePoint);
+            int runEnd = endOfRun(query, position, charClass);
+
+            if (charClass != CharClass.OTHER) {
+                String run = query.substring(position, runEnd);
+                BitSet postings = charClass == CharClass.WORD
+                        ? wordRunPostings(run, position > 0, runEnd < length)
+                        : cjkRunPostings(run);
+                if (candidates == null) {
+                    candidates = postings;
+                } else {
+                    candidates.and(postings);
+                }
+                if (candidates.isEmpty()) {
+                    return candidates;
+                }
+            }
+            position = runEnd;
+        }
+
+        return candidates;
+    }
+
+    /**
+     * A word run bounded on a side by another character class in the query must also be
+     * bounded there in the item, so the item's token starts and/or ends with the run.
+     */
+    private BitSet wordRunPostings(String run, boolean boundedLeft, boolean boundedRight) {
+        if (boundedLeft && boundedRight) {
+            BitSet exact = wordPostings.get(run);
+            return exact != null ? (BitSet) exact.clone() : new BitSet();
+        }
+        if (boundedLeft) {
+            return union(wordPostings.subMap(run, true, run + Character.MAX_VALUE, false).values());
+        }
+        Predicate<String> tokenMatches = boundedRight ? token -> token.endsWith(run) : token -> token.contains(run);
+        List<BitSet> matches = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : wordPostings.entrySet()) {
+            if (tokenMatches.test(entry.getKey())) {
+                matches.add(entry.getValue());
+            }
+        }
+        return union(matches);
+    }
+
+    /**
+     * Every character (for single-character runs) or bigram of a CJK run must occur in the item.
+     */
+    private BitSet cjkRunPostings(String run) {
+        List<String> grams = new ArrayList<>();
+        addCjkGrams(run, null, grams);
+
+        BitSet result = null;
+        for (String gram : grams) {
+            BitSet postings = cjkPostings.get(gram);
+            if (postings == null) {
+                return new BitSet();
+            }
+            if (result == null) {
+                result = (BitSet) postings.clone();
+            } else {
+                result.and(postings);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    private static BitSet union(Iterable<BitSet> postingLists) {
+        BitSet result = new BitSet();
+        for (BitSet postings : postingLists) {
+            result.or(postings);
+        }
+        return result;
+    }
+
+    private static void collectTerms(String text, Set<String> words, Set<String> cjkGrams) {
+        int length = text.length();
+        int position = 0;
+        while (position < length) {
+            CharClass charClass = classify(text.codePointAt(position));
+            int runEnd = endOfRun(text, position, charClass);
+            if (charClass == CharClass.WORD) {
+                words.add(text.substring(position, runEnd));
+            } else if (charClass == CharClass.CJK) {
+                String run = text.substring(position, runEnd);
+                addCjkGrams(run, cjkGrams, null);
+            }
+            position = runEnd;
+        }
+    }
+
+    /**
+     * Indexing emits every character and every bigram of the run; querying only needs
+     * the bigrams, or the single character when the run is one character long.
+     */
+    private static void addCjkGrams(String run, Set<String> indexTerms, List<String> queryTerms) {
+        int[] codePoints = run.codePoints().toArray();
+        for (int i = 0; i < codePoints.length; i++) {
+            String unigram = new String(codePoints, i, 1);
+            if (indexTerms != null) {
+                indexTerms.add(unigram);
+            }
+            if (i + 1 < codePoints.length) {
+                String bigram = new String(codePoints, i, 2);
+                if (indexTerms != null) {
+                    indexTerms.add(bigram);
+                } else {
+                    queryTerms.add(bigram);
+                }
+            }
+        }
+        if (queryTerms != null && codePoints.length == 1) {
+            queryTerms.add(new String(codePoints, 0, 1));
+        }
+    }
+
+    private static int endOfRun(String text, int start, CharClass charClass) {
+        int position = start;
+        while (position < text.length()) {
+            int codePoint = text.codePointAt(position);
+            if (classify(codePoint) != charClass) {
+                break;
+            }
+            position += Character.charCount(codePoint);
+        }
+        return position;
+    }
+
+    private enum CharClass {
+        WORD,   // Latin (and other non-CJK) letters and digits
+        CJK,    // Han, kana and Hangul characters
+        OTHER   // Whitespace, punctuation and symbols
+    }
+
+    private static CharClass classify(int codePoint) {
+        if (isCjk(codePoint)) {
+            return CharClass.CJK;
+        }
+        return Character.isLetterOrDigit(codePoint) ? CharClass.WORD : CharClass.OTHER;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        // The katakana prolonged sound mark (ー) belongs to the COMMON script
+        if (codePoint == 0x30FC) {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.BOPOMOFO;
+    }
+}
@@ -0,0 +1,101 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable uniform-grid index over item coordinates.
+ *
+ * Items are bucketed into fixed-size latitude/longitude cells. A viewport query only
+ * visits the cells it overlaps, or walks the occupied cells instead when the viewport
+ * covers more cells than are occupied (e.g. a world-wide box).
+ * Document IDs are positions in the indexed list, matching {@link KeywordIndex}.
+ */
+public final class SpatialIndex {
+
+    private static final double CELL_SIZE_DEGREES = 0.25;
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_SIZE_DEGREES);
+
+    private final List<WazaiMapItem> items;
+    private final Map<Integer, BitSet> cells;
+
+    private SpatialIndex(List<WazaiMapItem> items, Map<Integer, BitSet> cells) {
+        this.items = items;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds an index over the given items. Items without coordinates are never returned.
+     *
+     * @param items the items to index
+     * @return the index
+     */
+    public static SpatialIndex build(List<WazaiMapItem> items) {
+        Map<Integer, BitSet> cells = new HashMap<>();
+        for (int docId = 0; docId < items.size(); docId++) {
+            Coordinates coordinates = items.get(docId).coordinates();
+            if (coordinates != null) {
+                int cell = cellKey(latCell(coordinates.latitude()), lngCell(coordinates.longitude()));
+                cells.computeIfAbsent(cell, key -> new BitSet()).set(docId);
+            }
+        }
+        return new SpatialIndex(items, cells);
+    }
+
+    /**
+     * Returns the IDs of all items located inside the box.
+     *
+     * @param box the viewport to query
+     * @return matching document IDs
+     */
+    public BitSet query(BoundingBox box) {
+        int minLatCell = latCell(box.minLatitude());
+        int maxLatCell = latCell(box.maxLatitude());
+        int minLngCell = lngCell(box.minLongitude());
+        int maxLngCell = lngCell(box.maxLongitude());
+        int lngCellCount = box.crossesAntimeridian()
+                ? LNG_CELLS - minLngCell + maxLngCell + 1
+                : maxLngCell - minLngCell + 1;
+        long cellsInBox = (long) (maxLatCell - minLatCell + 1) * lngCellCount;
+
+        BitSet candidates = new BitSet();
+        if (cellsInBox > cells.size()) {
+            cells.values().forEach(candidates::or);
+        } else {
+            for (int lat = minLatCell; lat <= maxLatCell; lat++) {
+                for (int i = 0; i < lngCellCount; i++) {
+                    BitSet cell = cells.get(cellKey(lat, (minLngCell + i) % LNG_CELLS));
+                    if (cell != null) {
+                        candidates.or(cell);
+                    }
+                }
+            }
+        }
+
+        // Cells on the edge of the box are only partially covered
+        for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+            if (!box.contains(items.get(docId).coordinates())) {
+                candidates.clear(docId);
+            }
+        }
+        return candidates;
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_SIZE_DEGREES);
+    }
+
+    private static int lngCell(double longitude) {
+        return Math.min((int) Math.floor((longitude + 180) / CELL_SIZE_DEGREES), LNG_CELLS - 1);
+    }
+
+    private static int cellKey(int latCell, int lngCell) {
+        return latCell * LNG_CELLS + lngCell;
+    }
+}
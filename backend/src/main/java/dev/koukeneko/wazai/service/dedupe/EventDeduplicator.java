@@ -0,0 +1,501 @@
+package dev.koukeneko.wazai.service.dedupe;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiEvent.SourceLink;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Merges events that several providers list separately into one canonical event.
+ *
+ * Titles are normalized (NFKC, lowercase, punctuation and whitespace removed) and split
+ * into character trigrams, which works for Latin and CJK titles alike. A MinHash signature
+ * of the trigrams is cut into bands; two events only become candidates when they share a
+ * band and start in the same or an adjacent time bucket, so the work grows with the number
+ * of events instead of its square. Candidates are then verified on the exact trigram
+ * Jaccard similarity, start time difference and distance, and connected with union-find.
+ * Events of the same provider are never merged with each other.
+ *
+ * A catalog is deduplicated once with {@link #index(List)}; searches then only compare
+ * the items they add to it, see {@link Index#merge(List)}.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class EventDeduplicator {
+
+    private static final int SHINGLE_LENGTH = 3;
+
+    // 16 bands of 2 rows: pairs with a similarity of 0.5 collide in some band 99% of the time
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 2;
+    private static final long[] SEEDS = seeds(BANDS * ROWS_PER_BAND);
+
+    private static final Comparator<WazaiEvent> RICHNESS = Comparator
+            .comparing((WazaiEvent event) -> event.coordinates() != null)
+            .thenComparing(event -> event.address() != null && !event.address().isBlank())
+            .thenComparing(event -> event.endTime() != null)
+            .thenComparingInt(event -> event.description() != null ? event.description().length() : 0);
+
+    private final double titleSimilarity;
+    private final Duration startTimeTolerance;
+    private final double maxDistanceKm;
+
+    /**
+     * @param titleSimilarity minimum Jaccard similarity of the title trigrams, 0..1
+     * @param startTimeTolerance maximum difference between the start times
+     * @param maxDistanceKm maximum distance between two located events
+     */
+    public EventDeduplicator(double titleSimilarity, Duration startTimeTolerance, double maxDistanceKm) {
+        this.titleSimilarity = titleSimilarity;
+        this.startTimeTolerance = startTimeTolerance.compareTo(Duration.ofMinutes(1)) < 0
+                ? Duration.ofMinutes(1)
+                : startTimeTolerance;
+        this.maxDistanceKm = maxDistanceKm;
+    }
+
+    /**
+     * Collapses near-duplicate events into one event per cluster.
+     * The canonical event is the most complete listing; missing location, address, end time
+     * and description are filled in from the others, whose links go to
+     * {@link WazaiEvent#otherSources()}. It takes the position of the cluster's first member.
+     * Places, undated events and events without a title are passed through unchanged.
+     *
+     * @param items aggregated items of every provider
+     * @return the items with duplicates merged, otherwise in input order
+     */
+    public List<WazaiMapItem> merge(List<WazaiMapItem> items) {
+        return merge(items, candidates(items, position -> true));
+    }
+
+    /**
+     * Deduplicates a whole catalog once, so that each search only pays for merging in
+     * the items that aren't part of it.
+     *
+     * @param items every catalog item
+     * @return the catalog's clusters
+     */
+    public Index index(List<WazaiMapItem> items) {
+        List<Candidate> candidates = candidates(items, position -> true);
+        Clusters clusters = new Clusters(candidates);
+        link(candidates, clusters, new HashMap<>());
+
+        Map<Integer, List<WazaiEvent>> members = new HashMap<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            members.computeIfAbsent(clusters.find(index), key -> new ArrayList<>()).add(candidates.get(index).event());
+        }
+
+        Map<String, WazaiEvent> canonicalById = new HashMap<>();
+        List<Candidate> canonicals = new ArrayList<>();
+        Map<BlockKey, List<Integer>> blocks = new HashMap<>();
+        for (List<WazaiEvent> cluster : members.values()) {
+            WazaiEvent canonical = cluster.size() < 2 ? cluster.getFirst() : canonical(cluster);
+            cluster.forEach(member -> canonicalById.put(member.id(), canonical));
+            Candidate candidate = candidate(canonicals.size(), canonical);
+            if (candidate != null) {
+                canonicals.add(candidate);
+                long bucket = bucket(candidate);
+                for (int band = 0; band < BANDS; band++) {
+                    blocks.computeIfAbsent(new BlockKey(bucket, band, bandHash(candidate.signature(), band)),
+                            key -> new ArrayList<>()).add(candidate.position());
+                }
+            }
+        }
+        return new Index(canonicalById, canonicals, blocks);
+    }
+
+    /**
+     * Deduplicated catalog. Immutable and thread-safe.
+     */
+    public final class Index {
+
+        private final Map<String, WazaiEvent> canonicalById;
+        private final List<Candidate> canonicals;
+        private final Map<BlockKey, List<Integer>> blocks;
+
+        private Index(Map<String, WazaiEvent> canonicalById, List<Candidate> canonicals,
+                      Map<BlockKey, List<Integer>> blocks) {
+            this.canonicalById = canonicalById;
+            this.canonicals = canonicals;
+            this.blocks = blocks;
+        }
+
+        /**
+         * Like {@link EventDeduplicator#merge(List)}, for items that are mostly from the
+         * indexed catalog. Catalog events are replaced by their cluster's canonical event,
+         * which takes the position of the first one; every other item is compared against
+         * those canonical events and the other non-catalog items only.
+         *
+         * @param items search results, catalog and live
+         * @return the items with duplicates merged, otherwise in input order
+         */
+        public List<WazaiMapItem> merge(List<WazaiMapItem> items) {
+            List<WazaiMapItem> merged = new ArrayList<>(items.size());
+            Map<String, Integer> canonicalPositions = new HashMap<>();
+            Set<Integer> others = new LinkedHashSet<>();
+            for (WazaiMapItem item : items) {
+                WazaiEvent canonical = item.id() != null ? canonicalById.get(item.id()) : null;
+                if (canonical == null) {
+                    others.add(merged.size());
+                    merged.add(item);
+                } else if (canonicalPositions.putIfAbsent(canonical.id(), merged.size()) == null) {
+                    merged.add(canonical);
+                }
+            }
+            if (others.isEmpty()) {
+                return merged;
+            }
+
+            Set<Integer> folded = new HashSet<>();
+            for (int position : others) {
+                if (merged.get(position) instanceof WazaiEvent event && event.startTime() != null
+                        && foldIntoCatalog(merged, canonicalPositions, event)) {
+                    folded.add(position);
+                }
+            }
+
+            List<WazaiMapItem> remaining = new ArrayList<>(merged.size() - folded.size());
+            Set<Integer> remainingOthers = new HashSet<>();
+            for (int position = 0; position < merged.size(); position++) {
+                if (folded.contains(position)) {
+                    continue;
+                }
+                if (others.contains(position)) {
+                    remainingOthers.add(remaining.size());
+                }
+                remaining.add(merged.get(position));
+            }
+            return EventDeduplicator.this.merge(remaining, candidates(remaining, remainingOthers::contains));
+        }
+
+        /**
+         * Merges the event into the first listed catalog event it duplicates.
+         *
+         * @return whether it was merged
+         */
+        private boolean foldIntoCatalog(List<WazaiMapItem> merged, Map<String, Integer> canonicalPositions,
+                                        WazaiEvent event) {
+            Candidate candidate = candidate(-1, event);
+            if (candidate == null) {
+                return false;
+            }
+            long bucket = bucket(candidate);
+            Set<Integer> compared = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                long bandHash = bandHash(candidate.signature(), band);
+                for (long neighbour = bucket - 1; neighbour <= bucket + 1; neighbour++) {
+                    for (int other : blocks.getOrDefault(new BlockKey(neighbour, band, bandHash), List.of())) {
+                        Candidate canonical = canonicals.get(other);
+                        Integer position = canonicalPositions.get(canonical.event().id());
+                        if (position == null || !compared.add(other) || !isDuplicate(candidate, canonical)) {
+                            continue;
+                        }
+                        WazaiEvent listed = (WazaiEvent) merged.get(position);
+                        if (!sharesSource(listed, event)) {
+                            merged.set(position, canonical(List.of(listed, event)));
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private List<WazaiMapItem> merge(List<WazaiMapItem> items, List<Candidate> candidates) {
+        if (candidates.size() < 2) {
+            return items;
+        }
+        Clusters clusters = new Clusters(candidates);
+        link(candidates, clusters, new HashMap<>());
+        return clusters.hasMerges() ? collapse(items, candidates, clusters) : items;
+    }
+
+    /**
+     * Dated, titled events at the positions accepted by {@code eligible}.
+     */
+    private List<Candidate> candidates(List<WazaiMapItem> items, IntPredicate eligible) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int position = 0; position < items.size(); position++) {
+            if (eligible.test(position) && items.get(position) instanceof WazaiEvent event) {
+                Candidate candidate = candidate(position, event);
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the event as a candidate, or null if it has no start time or no usable title
+     */
+    private static Candidate candidate(int position, WazaiEvent event) {
+        if (event.startTime() == null) {
+            return null;
+        }
+        int[] shingles = shingles(event.title());
+        return shingles.length > 0 ? new Candidate(position, event, shingles, signature(shingles)) : null;
+    }
+
+    /**
+     * Unions every candidate with the earlier candidates it shares a band and a
+     * neighbouring time bucket with and that it duplicates.
+     */
+    private void link(List<Candidate> candidates, Clusters clusters, Map<BlockKey, List<Integer>> blocks) {
+        Set<Integer> compared = new HashSet<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            Candidate candidate = candidates.get(index);
+            long bucket = bucket(candidate);
+            compared.clear();
+            for (int band = 0; band < BANDS; band++) {
+                long bandHash = bandHash(candidate.signature(), band);
+                for (long neighbour = bucket - 1; neighbour <= bucket + 1; neighbour++) {
+                    List<Integer> block = blocks.get(new BlockKey(neighbour, band, bandHash));
+                    if (block == null) {
+                        continue;
+                    }
+                    for (int other : block) {
+                        if (compared.add(other) && isDuplicate(candidate, candidates.get(other))) {
+                            clusters.union(index, other);
+                        }
+                    }
+                }
+                blocks.computeIfAbsent(new BlockKey(bucket, band, bandHash), key -> new ArrayList<>()).add(index);
+            }
+        }
+    }
+
+    private long bucket(Candidate candidate) {
+        return Math.floorDiv(candidate.event().startTime().toEpochSecond(ZoneOffset.UTC),
+                startTimeTolerance.toSeconds());
+    }
+
+    private static boolean sharesSource(WazaiEvent listed, WazaiEvent event) {
+        return listed.source() == event.source()
+                || listed.otherSources().stream().anyMatch(link -> link.source() == event.source());
+    }
+
+    private boolean isDuplicate(Candidate a, Candidate b) {
+        WazaiEvent first = a.event();
+        WazaiEvent second = b.event();
+        if (first.country() != null && second.country() != null && first.country() != second.country()) {
+            return false;
+        }
+        if (Duration.between(first.startTime(), second.startTime()).abs().compareTo(startTimeTolerance) > 0) {
+            return false;
+        }
+        if (first.coordinates() != null && second.coordinates() != null
+                && first.coordinates().distanceTo(second.coordinates()) > maxDistanceKm) {
+            return false;
+        }
+        return jaccard(a.shingles(), b.shingles()) >= titleSimilarity;
+    }
+
+    private List<WazaiMapItem> collapse(List<WazaiMapItem> items, List<Candidate> candidates, Clusters clusters) {
+        Map<Integer, List<WazaiEvent>> members = new HashMap<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            members.computeIfAbsent(clusters.find(index), key -> new ArrayList<>()).add(candidates.get(index).event());
+        }
+
+        Map<Integer, WazaiMapItem> replacements = new HashMap<>();
+        Set<Integer> dropped = new HashSet<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            int root = clusters.find(index);
+            List<WazaiEvent> cluster = members.get(root);
+            if (cluster.size() < 2) {
+                continue;
+            }
+            // Roots are the lowest index of their cluster
+            int position = candidates.get(index).position();
+            if (index == root) {
+                replacements.put(position, canonical(cluster));
+            } else {
+                dropped.add(position);
+            }
+        }
+
+        List<WazaiMapItem> merged = new ArrayList<>(items.size() - dropped.size());
+        for (int position = 0; position < items.size(); position++) {
+            if (!dropped.contains(position)) {
+                merged.add(replacements.getOrDefault(position, items.get(position)));
+            }
+        }
+        return merged;
+    }
+
+    private static WazaiEvent canonical(List<WazaiEvent> cluster) {
+        WazaiEvent best = cluster.getFirst();
+        for (WazaiEvent event : cluster) {
+            if (RICHNESS.compare(event, best) > 0) {
+                best = event;
+            }
+        }
+
+        Coordinates coordinates = best.coordinates();
+        String address = best.address();
+        LocalDateTime endTime = best.endTime();
+        String description = best.description();
+        List<SourceLink> otherSources = new ArrayList<>(best.otherSources());
+        for (WazaiEvent event : cluster) {
+            if (event == best) {
+                continue;
+            }
+            coordinates = coordinates != null ? coordinates : event.coordinates();
+            address = address != null && !address.isBlank() ? address : event.address();
+            endTime = endTime != null ? endTime : event.endTime();
+            description = description != null && !description.isBlank() ? description : event.description();
+            otherSources.add(new SourceLink(event.source(), event.id(), event.url()));
+            otherSources.addAll(event.otherSources());
+        }
+
+        return new WazaiEvent(best.id(), best.title(), description, best.url(), coordinates, address,
+                best.startTime(), endTime, best.eventType(), best.source(), best.country(), otherSources);
+    }
+
+    /**
+     * Distinct hashes of the title's character trigrams, sorted. Titles shorter than a
+     * trigram become a single shingle.
+     */
+    static int[] shingles(String title) {
+        if (title == null) {
+            return new int[0];
+        }
+        int[] codePoints = Normalizer.normalize(title, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .codePoints()
+                .filter(Character::isLetterOrDigit)
+                .toArray();
+        if (codePoints.length == 0) {
+            return new int[0];
+        }
+        if (codePoints.length < SHINGLE_LENGTH) {
+            return new int[]{Arrays.hashCode(codePoints)};
+        }
+        int[] shingles = new int[codePoints.length - SHINGLE_LENGTH + 1];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = Arrays.hashCode(Arrays.copyOfRange(codePoints, i, i + SHINGLE_LENGTH));
+        }
+        return Arrays.stream(shingles).sorted().distinct().toArray();
+    }
+
+    static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private static long[] signature(int[] shingles) {
+        long[] signature = new long[SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(shingle ^ SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    private static long bandHash(long[] signature, int band) {
+        long hash = band;
+        for (int row = 0; row < ROWS_PER_BAND; row++) {
+            hash = mix(hash * 31 + signature[band * ROWS_PER_BAND + row]);
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer: a cheap, well-distributed stand-in for a random permutation
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] seeds(int count) {
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = mix(i + 1L);
+        }
+        return seeds;
+    }
+
+    private record Candidate(int position, WazaiEvent event, int[] shingles, long[] signature) {}
+
+    private record BlockKey(long timeBucket, int band, long bandHash) {}
+
+    /**
+     * Union-find over candidate indexes that refuses to join two clusters listed by a common provider.
+     */
+    private static final class Clusters {
+
+        private final int[] parent;
+        private final List<Set<DataSource>> sources;
+        private boolean merged;
+
+        Clusters(List<Candidate> candidates) {
+            parent = new int[candidates.size()];
+            sources = new ArrayList<>(candidates.size());
+            for (int i = 0; i < parent.length; i++) {
+                parent[i] = i;
+                DataSource source = candidates.get(i).event().source();
+                sources.add(source != null ? EnumSet.of(source) : EnumSet.noneOf(DataSource.class));
+            }
+        }
+
+        int find(int index) {
+            while (parent[index] != index) {
+                parent[index] = parent[parent[index]];
+                index = parent[index];
+            }
+            return index;
+        }
+
+        void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB || sources.get(rootA).stream().anyMatch(sources.get(rootB)::contains)) {
+                return;
+            }
+            // Keep the earlier candidate as root so the cluster stays at its first position
+            int root = Math.min(rootA, rootB);
+            int child = Math.max(rootA, rootB);
+            parent[child] = root;
+            sources.get(root).addAll(sources.get(child));
+            merged = true;
+        }
+
+        boolean hasMerges() {
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.koukeneko.wazai.service.geocoding;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persisted geocoding result for one normalized address, as answered by one geocoder.
+ * Addresses that could not be resolved are stored without coordinates.
+ */
+@Entity
+@Table(name = "geocode_result", indexes = @Index(name = "idx_geocode_result_expires_at", columnList = "expiresAt"))
+public class GeocodeCacheEntry {
+
+    // Geocoder and address, see GeocodeStore
+    @Id
+    @Column(length = 1100)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 1024)
+    private String address;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 32)
+    private String source;
+
+    @Column(nullable = false)
+    private Instant resolvedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    protected GeocodeCacheEntry() {
+    }
+
+    public GeocodeCacheEntry(String cacheKey, String address, Optional<Coordinates> coordinates, String source,
+                             Instant resolvedAt, Instant expiresAt) {
+        this.cacheKey = cacheKey;
+        this.address = address;
+        this.latitude = coordinates.map(Coordinates::latitude).orElse(null);
+        this.longitude = coordinates.map(Coordinates::longitude).orElse(null);
+        this.source = source;
+        this.resolvedAt = resolvedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public Optional<Coordinates> getCoordinates() {
+        return latitude != null && longitude != null
+                ? Optional.of(new Coordinates(latitude, longitude))
+                : Optional.empty();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.koukeneko.wazai.service.geocoding;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    List<GeocodeCacheEntry> findByExpiresAtAfterOrderByResolvedAtDesc(Instant now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from GeocodeCacheEntry e where e.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
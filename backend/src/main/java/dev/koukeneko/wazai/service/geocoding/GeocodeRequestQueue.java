@@ -0,0 +1,174 @@
+package dev.koukeneko.wazai.service.geocoding;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Asynchronous, single-flight front end for a blocking geocoder.
+ *
+ * Addresses already in the shared {@link GeocodeStore} memory cache complete immediately.
+ * Otherwise the first caller for an address enqueues a lookup and every concurrent caller
+ * for the same address shares its future until it completes. Creating the future is the
+ * only work done inside the map, so no map bin is held during I/O. Lookups run on a small
+ * pool of virtual worker threads, which check the persisted cache before calling the
+ * upstream API and also absorb any wait imposed by the upstream host's limiter, so
+ * callers never sleep. Only answers are cached: a lookup that failed completes empty
+ * for its callers but is tried again by the next one.
+ *
+ * Every lookup is counted by where it was answered ({@code wazai.geocode.lookups}):
+ * the memory cache, a lookup already in flight, the persisted cache, or the upstream API,
+ * whose calls are also timed.
+ */
+public final class GeocodeRequestQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeRequestQueue.class);
+
+    private final String name;
+    private final GeocodeStore store;
+    private final Map<String, CompletableFuture<Optional<Coordinates>>> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<Runnable> pending = new LinkedBlockingQueue<>();
+    private final Thread[] workers;
+    private volatile boolean closed;
+
+    private final Counter memoryHits;
+    private final Counter joinedLookups;
+    private final Counter storedHits;
+    private final Counter upstreamLookups;
+    private final Timer foundTimer;
+    private final Timer notFoundTimer;
+
+    /**
+     * @param name geocoder name used for worker thread names, logs and the {@code geocoder} tag
+     * @param workerCount number of lookups that may run at the same time
+     * @param store cache of previous results, shared between geocoders
+     * @param registry registry for the lookup meters
+     */
+    public GeocodeRequestQueue(String name, int workerCount, GeocodeStore store, MeterRegistry registry) {
+        this.name = name;
+        this.store = store;
+        Tags tags = Tags.of("geocoder", name);
+        this.memoryHits = registry.counter("wazai.geocode.lookups", tags.and("source", "memory"));
+        this.joinedLookups = registry.counter("wazai.geocode.lookups", tags.and("source", "in_flight"));
+        this.storedHits = registry.counter("wazai.geocode.lookups", tags.and("source", "database"));
+        this.upstreamLookups = registry.counter("wazai.geocode.lookups", tags.and("source", "upstream"));
+        this.foundTimer = upstreamTimer(registry, tags.and("found", "true"));
+        this.notFoundTimer = upstreamTimer(registry, tags.and("found", "false"));
+        registry.gaugeCollectionSize("wazai.geocode.pending", tags, pending);
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Thread.ofVirtual().name("geocode-" + name + "-", i).start(this::drain);
+        }
+    }
+
+    /**
+     * Returns the cached result for the normalized address, or the shared in-flight lookup,
+     * enqueueing one if none exists. The fetcher runs on a worker thread.
+     *
+     * @param normalizedAddress the cache key
+     * @param fetcher blocking lookup of the address; returns empty only when the geocoder
+     *                found no match, and throws when it could not answer
+     * @return a future completed with the coordinates, or empty if the address was not found
+     *         or the lookup failed
+     */
+    public CompletableFuture<Optional<Coordinates>> lookup(String normalizedAddress,
+                                                           Function<String, Optional<Coordinates>> fetcher) {
+        Optional<Optional<Coordinates>> cached = store.cached(name, normalizedAddress);
+        if (cached.isPresent()) {
+            memoryHits.increment();
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        CompletableFuture<Optional<Coordinates>> existing = inFlight.get(normalizedAddress);
+        if (existing != null) {
+            joinedLookups.increment();
+            return existing;
+        }
+
+        CompletableFuture<Optional<Coordinates>> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(normalizedAddress, created);
+        if (existing != null) {
+            joinedLookups.increment();
+            return existing;
+        }
+
+        if (closed) {
+            inFlight.remove(normalizedAddress, created);
+            created.complete(Optional.empty());
+            return created;
+        }
+        pending.add(() -> {
+            try {
+                created.complete(resolve(normalizedAddress, fetcher));
+            } catch (Exception e) {
+                // The geocoder logs its own failures, sampled
+                logger.debug("[{}] Lookup of '{}' failed: {}", name, normalizedAddress, e.getMessage());
+                created.complete(Optional.empty());
+            } finally {
+                inFlight.remove(normalizedAddress, created);
+            }
+        });
+        return created;
+    }
+
+    private Optional<Coordinates> resolve(String normalizedAddress,
+                                          Function<String, Optional<Coordinates>> fetcher) {
+        Optional<Optional<Coordinates>> stored = store.load(name, normalizedAddress);
+        if (stored.isPresent()) {
+            storedHits.increment();
+            return stored.get();
+        }
+        upstreamLookups.increment();
+        long startNanos = System.nanoTime();
+        Optional<Coordinates> fetched = fetcher.apply(normalizedAddress);
+        (fetched.isPresent() ? foundTimer : notFoundTimer).record(Duration.ofNanos(System.nanoTime() - startNanos));
+        store.save(name, normalizedAddress, fetched);
+        return fetched;
+    }
+
+    private static Timer upstreamTimer(MeterRegistry registry, Tags tags) {
+        return Timer.builder("wazai.geocode.upstream")
+                .description("Upstream geocoding latency, including retries with shortened addresses")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Stops the workers and completes every outstanding lookup empty, so callers blocked
+     * on a result are released instead of waiting for lookups that will never run.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        pending.clear();
+        inFlight.values().forEach(lookup -> lookup.complete(Optional.empty()));
+        inFlight.clear();
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                pending.take().run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
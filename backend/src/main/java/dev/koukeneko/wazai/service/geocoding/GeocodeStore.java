@@ -0,0 +1,192 @@
+package dev.koukeneko.wazai.service.geocoding;
+
+import dev.koukeneko.wazai.config.GeocodeCacheProperties;
+import dev.koukeneko.wazai.dto.Coordinates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Geocode results shared by every GeocodingService and kept across restarts.
+ *
+ * Results are keyed by geocoder and normalized address: geocoders restrict their searches
+ * to different regions and validate results differently, so one geocoder's answer is not
+ * reused for another. The database holds every unexpired result; memory holds the most
+ * recently used ones, bounded by {@code wazai.geocoding.cache.max-entries}. Memory is a
+ * concurrent map, so lookups never contend on a lock; once it grows past its bound, one
+ * caller trims the least recently used tenth of the entries.
+ * Resolved and unresolved addresses expire separately, so a venue the geocoder found no match for
+ * is retried after a day while a resolved one is kept for months.
+ * The memory cache is warmed from the database on a background thread once the application
+ * is up; lookups made before that simply fall through to the database.
+ *
+ * Database access is blocking and is meant to run on geocoder worker threads;
+ * {@link #cached(String, String)} only touches memory and is safe on request threads.
+ */
+@Component
+public class GeocodeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeStore.class);
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final GeocodeCacheRepository repository;
+    private final GeocodeCacheProperties properties;
+    private final Map<String, CachedResult> memory = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private static final class CachedResult {
+        final Optional<Coordinates> coordinates;
+        final Instant expiresAt;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        CachedResult(Optional<Coordinates> coordinates, Instant expiresAt) {
+            this.coordinates = coordinates;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+
+    public GeocodeStore(GeocodeCacheRepository repository, GeocodeCacheProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startWarmUp() {
+        Thread.ofVirtual().name("geocode-cache-warmup").start(this::warmUp);
+    }
+
+    /**
+     * Drops expired rows and loads the most recently resolved addresses into memory,
+     * without replacing results stored in the meantime.
+     */
+    void warmUp() {
+        try {
+            Instant now = Instant.now();
+            int purged = repository.deleteExpired(now);
+            List<GeocodeCacheEntry> entries = repository.findByExpiresAtAfterOrderByResolvedAtDesc(
+                    now, Limit.of(properties.maxEntries()));
+            // Oldest first, so the most recent entries end up least likely to be evicted
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                GeocodeCacheEntry entry = entries.get(i);
+                memory.putIfAbsent(entry.getCacheKey(), new CachedResult(entry.getCoordinates(), entry.getExpiresAt()));
+            }
+            evictIfFull();
+            logger.info("Loaded {} cached geocode results ({} expired entries removed)", entries.size(), purged);
+        } catch (Exception e) {
+            logger.warn("Could not load the geocode cache, starting cold: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up an unexpired result in memory only.
+     *
+     * @param source name of the geocoder asking
+     * @param address normalized address
+     * @return the cached result (itself possibly empty for an unresolved address), or empty on a miss
+     */
+    public Optional<Optional<Coordinates>> cached(String source, String address) {
+        String key = cacheKey(source, address);
+        CachedResult result = memory.get(key);
+        if (result == null) {
+            return Optional.empty();
+        }
+        if (!result.isFresh(Instant.now())) {
+            memory.remove(key, result);
+            return Optional.empty();
+        }
+        result.lastUsedNanos = System.nanoTime();
+        return Optional.of(result.coordinates);
+    }
+
+    /**
+     * Looks up an unexpired result in memory, then in the database. Blocking.
+     *
+     * @param source name of the geocoder asking
+     * @param address normalized address
+     * @return the stored result (itself possibly empty for an unresolved address), or empty on a miss
+     */
+    public Optional<Optional<Coordinates>> load(String source, String address) {
+        Optional<Optional<Coordinates>> cached = cached(source, address);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        String key = cacheKey(source, address);
+        try {
+            Instant now = Instant.now();
+            return repository.findById(key)
+                    .filter(entry -> entry.getExpiresAt().isAfter(now))
+                    .map(entry -> {
+                        remember(key, new CachedResult(entry.getCoordinates(), entry.getExpiresAt()));
+                        return entry.getCoordinates();
+                    });
+        } catch (Exception e) {
+            logger.warn("Could not read geocode cache entry for '{}': {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records a geocoding result in memory and in the database. Blocking.
+     * Only answers from the geocoder belong here; failed lookups must not be saved.
+     *
+     * @param source name of the geocoder that produced the result
+     * @param address normalized address
+     * @param coordinates the result, or empty if the geocoder found no match
+     */
+    public void save(String source, String address, Optional<Coordinates> coordinates) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(coordinates.isPresent() ? properties.positiveTtl() : properties.negativeTtl());
+        String key = cacheKey(source, address);
+        remember(key, new CachedResult(coordinates, expiresAt));
+        try {
+            repository.save(new GeocodeCacheEntry(key, address, coordinates, source, now, expiresAt));
+        } catch (Exception e) {
+            logger.warn("Could not persist geocode result for '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private static String cacheKey(String source, String address) {
+        return source + ":" + address;
+    }
+
+    private void remember(String key, CachedResult result) {
+        memory.put(key, result);
+        evictIfFull();
+    }
+
+    /**
+     * Trims the least recently used entries once memory is over its bound. Only one caller
+     * trims at a time; the others carry on, so the bound may be overshot briefly.
+     */
+    private void evictIfFull() {
+        int maxEntries = properties.maxEntries();
+        if (memory.size() <= maxEntries || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = memory.size() - maxEntries + Math.max(1, maxEntries / EVICTION_DIVISOR);
+            memory.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> memory.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
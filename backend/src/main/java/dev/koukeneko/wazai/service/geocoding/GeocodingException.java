@@ -0,0 +1,13 @@
+package dev.koukeneko.wazai.service.geocoding;
+
+/**
+ * Signals that a geocoder could not answer, for example because the request timed out,
+ * was rate limited or got an unreadable response. An address the geocoder has no match
+ * for is an empty result instead, so only that is cached.
+ */
+public class GeocodingException extends RuntimeException {
+
+    public GeocodingException(String geocoder, String message, Throwable cause) {
+        super(geocoder + ": " + message, cause);
+    }
+}
@@ -7,15 +7,21 @@ import dev.koukeneko.wazai.dto.external.aws.AwsApiResponse;
 import dev.koukeneko.wazai.dto.external.aws.AwsEventWrapper;
 import dev.koukeneko.wazai.dto.external.aws.AwsAdditionalFields;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.SharedListing;
+import dev.koukeneko.wazai.util.LogSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import dev.koukeneko.wazai.util.SearchHelper;
@@ -35,6 +41,8 @@ import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
 @Service
 public class AwsSummitProvider implements ActivityProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(AwsSummitProvider.class);
+
     private static final String PROVIDER_NAME = "AWS Events";
     private static final String API_BASE_URL = "https://aws.amazon.com";
     private static final String API_ENDPOINT = "/api/dirs/items/search";
@@ -53,19 +61,23 @@ public class AwsSummitProvider implements ActivityProvider {
     private static final Map<String, Coordinates> CITY_COORDINATES = createCityCoordinatesMap();
     private static final Coordinates DEFAULT_COORDINATES = new Coordinates(40.7128, -74.0060); // New York as default
 
+    // Summit and Community Day listings change a few times a week at most
+    private static final Duration LISTING_FRESHNESS = Duration.ofMinutes(30);
+
     private final WebClient webClient;
+    private final SharedListing listing;
+    private final LogSampler transformFailures = new LogSampler(5, Duration.ofMinutes(1));
 
     public AwsSummitProvider(WebClient.Builder webClientBuilder) {
         this.webClient = webClientBuilder
                 .baseUrl(API_BASE_URL)
                 .build();
+        this.listing = new SharedListing(PROVIDER_NAME, LISTING_FRESHNESS, this::fetchAllEvents);
     }
 
     @Override
     public List<WazaiMapItem> search(String keyword) {
-        List<WazaiMapItem> allEvents = new ArrayList<>();
-        allEvents.addAll(fetchAwsSummitEvents());
-        allEvents.addAll(fetchAwsCommunityDayEvents());
+        List<WazaiMapItem> allEvents = listing.get();
 
         if (isEmptyKeyword(keyword)) {
             return allEvents;
@@ -76,6 +88,11 @@ public class AwsSummitProvider implements ActivityProvider {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<WazaiMapItem> fetchListing() {
+        return listing.refresh();
+    }
+
     @Override
     public String getProviderName() {
         return PROVIDER_NAME;
@@ -85,9 +102,17 @@ public class AwsSummitProvider implements ActivityProvider {
         return keyword == null || keyword.isBlank();
     }
 
+    private List<WazaiMapItem> fetchAllEvents() {
+        List<WazaiMapItem> allEvents = new ArrayList<>();
+        allEvents.addAll(fetchAwsSummitEvents());
+        allEvents.addAll(fetchAwsCommunityDayEvents());
+        return allEvents;
+    }
+
     private List<WazaiMapItem> fetchAwsSummitEvents() {
+        long startNanos = System.nanoTime();
         try {
-            System.out.println("[AWS] Fetching AWS Summit events from API...");
+            logger.debug("Fetching AWS Summit events");
 
             AwsApiResponse response = webClient
                     .get()
@@ -104,23 +129,24 @@ public class AwsSummitProvider implements ActivityProvider {
                     .block();
 
             if (response == null || response.items() == null || response.items().isEmpty()) {
-                System.out.println("[AWS] No AWS Summit events found");
+                logFetched("summit", 0, startNanos);
                 return Collections.emptyList();
             }
 
-            System.out.println("[AWS] Loaded " + response.items().size() + " AWS Summit events");
+            logFetched("summit", response.items().size(), startNanos);
 
             return transformAwsEvents(response.items(), EventType.TECH_CONFERENCE);
 
         } catch (Exception e) {
-            System.err.println("[AWS] Failed to fetch Summit events: " + e.getMessage());
+            logFetchFailed("summit", e, startNanos);
             return Collections.emptyList();
         }
     }
 
     private List<WazaiMapItem> fetchAwsCommunityDayEvents() {
+        long startNanos = System.nanoTime();
         try {
-            System.out.println("[AWS] Fetching AWS Community Day events from API...");
+            logger.debug("Fetching AWS Community Day events");
 
             AwsApiResponse response = webClient
                     .get()
@@ -138,20 +164,39 @@ public class AwsSummitProvider implements ActivityProvider {
                     .block();
 
             if (response == null || response.items() == null || response.items().isEmpty()) {
-                System.out.println("[AWS] No AWS Community Day events found");
+                logFetched("community-day", 0, startNanos);
                 return Collections.emptyList();
             }
 
-            System.out.println("[AWS] Loaded " + response.items().size() + " AWS Community Day events");
+            logFetched("community-day", response.items().size(), startNanos);
 
             return transformAwsEvents(response.items(), EventType.COMMUNITY_GATHERING);
 
         } catch (Exception e) {
-            System.err.println("[AWS] Failed to fetch Community Day events: " + e.getMessage());
+            logFetchFailed("community-day", e, startNanos);
             return Collections.emptyList();
         }
     }
 
+    private void logFetched(String listing, int itemCount, long startNanos) {
+        logger.atInfo()
+                .addKeyValue("provider", PROVIDER_NAME)
+                .addKeyValue("listing", listing)
+                .addKeyValue("items", itemCount)
+                .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .addKeyValue("outcome", "OK")
+                .log("Fetched AWS events");
+    }
+
+    private void logFetchFailed(String listing, Exception e, long startNanos) {
+        logger.atWarn()
+                .addKeyValue("provider", PROVIDER_NAME)
+                .addKeyValue("listing", listing)
+                .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .addKeyValue("outcome", "FAILED")
+                .log("Could not fetch AWS events: {}", e.getMessage());
+    }
+
     private List<WazaiMapItem> transformAwsEvents(List<AwsEventWrapper> events, EventType eventType) {
         return events.stream()
                 // Temporarily disabled for testing - re-enable to filter past events
@@ -197,7 +242,13 @@ public class AwsSummitProvider implements ActivityProvider {
                     determineCountry(fields)
             );
         } catch (Exception e) {
-            System.err.println("[AWS] Failed to transform event: " + e.getMessage());
+            long suppressed = transformFailures.sample();
+            if (suppressed >= 0) {
+                logger.atWarn()
+                        .addKeyValue("provider", PROVIDER_NAME)
+                        .addKeyValue("suppressed", suppressed)
+                        .log("Could not transform AWS event: {}", e.getMessage());
+            }
             return null;
         }
     }
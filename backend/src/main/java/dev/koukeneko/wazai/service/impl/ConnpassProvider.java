@@ -1,6 +1,7 @@
 package dev.koukeneko.wazai.service.impl;
 
 import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.DateRange;
 import dev.koukeneko.wazai.dto.WazaiEvent;
 import dev.koukeneko.wazai.dto.WazaiEvent.EventType;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
@@ -9,15 +10,23 @@ import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
 import dev.koukeneko.wazai.dto.external.connpass.ConnpassEvent;
 import dev.koukeneko.wazai.dto.external.connpass.ConnpassResponse;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
+import dev.koukeneko.wazai.service.ProviderQuery;
+import dev.koukeneko.wazai.service.resilience.RequestHedger;
+import dev.koukeneko.wazai.service.resilience.RequestHedgerRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriBuilder;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Connpass API provider implementation.
@@ -31,19 +40,31 @@ public class ConnpassProvider implements ActivityProvider {
     private static final String BASE_URL = "https://connpass.com/api/v2";
     private static final String API_PATH = "/event/";
     private static final int DEFAULT_RESULT_COUNT = 10;
+    private static final int MAX_RESULT_COUNT = 100;
+    private static final int MAX_YMD_VALUES = 31;
+    private static final int MAX_YM_VALUES = 12;
+    private static final DateTimeFormatter YMD_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter YM_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
 
     @Value("${connpass.api.token:}")
     private String apiToken;
 
     private final RestClient restClient;
+    private final RequestHedger hedger;
 
-    public ConnpassProvider(RestClient.Builder builder) {
+    public ConnpassProvider(RestClient.Builder builder, RequestHedgerRegistry hedgers) {
         this.restClient = builder.baseUrl(BASE_URL).build();
+        this.hedger = hedgers.forUpstream(PROVIDER_NAME);
     }
 
     @Override
     public List<WazaiMapItem> search(String keyword) {
-        ConnpassResponse response = fetchConnpassEvents(keyword);
+        return search(ProviderQuery.keyword(keyword));
+    }
+
+    @Override
+    public List<WazaiMapItem> search(ProviderQuery query) {
+        ConnpassResponse response = fetchConnpassEvents(query);
 
         if (isEmptyResponse(response)) {
             return Collections.emptyList();
@@ -57,16 +78,72 @@ public class ConnpassProvider implements ActivityProvider {
         return PROVIDER_NAME;
     }
 
-    private ConnpassResponse fetchConnpassEvents(String keyword) {
-        return restClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(API_PATH)
-                        .queryParam("keyword", keyword)
-                        .queryParam("count", DEFAULT_RESULT_COUNT)
-                        .build())
+    /**
+     * Connpass filters by keyword ({@code keyword}), start date ({@code ymd}/{@code ym})
+     * and result count ({@code count}) itself.
+     */
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return new ProviderCapabilities(Set.of(Country.JAPAN), true, true, true);
+    }
+
+    /**
+     * Connpass only returns the latest events without a keyword, so keyword
+     * queries must still go through the API's own keyword search.
+     */
+    @Override
+    public IngestionMode getIngestionMode() {
+        return IngestionMode.CATALOG_BROWSE_ONLY;
+    }
+
+    /**
+     * Only closed ranges of up to {@value #MAX_YM_VALUES} months can be sent as {@code ymd}/{@code ym} lists.
+     */
+    @Override
+    public boolean canFilterByDates(DateRange dates) {
+        if (dates == null || dates.from() == null || dates.to() == null) {
+            return false;
+        }
+        return ChronoUnit.MONTHS.between(YearMonth.from(dates.from()), YearMonth.from(dates.to())) + 1 <= MAX_YM_VALUES;
+    }
+
+    private ConnpassResponse fetchConnpassEvents(ProviderQuery query) {
+        int count = query.limit() != null
+                ? Math.min(Math.max(query.limit(), 1), MAX_RESULT_COUNT)
+                : DEFAULT_RESULT_COUNT;
+        return hedger.call(() -> restClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder
+                            .path(API_PATH)
+                            .queryParam("keyword", query.keyword())
+                            .queryParam("count", count);
+                    addDateFilter(uriBuilder, query.dates());
+                    return uriBuilder.build();
+                })
                 .header("Authorization", "Bearer " + apiToken)
                 .retrieve()
-                .body(ConnpassResponse.class);
+                .body(ConnpassResponse.class));
+    }
+
+    /**
+     * Connpass takes a list of days ({@code ymd}) or months ({@code ym}) rather than a range.
+     * Short closed ranges are sent day by day, longer ones month by month; open or very
+     * long ranges are left to the aggregator's own date filter.
+     */
+    private void addDateFilter(UriBuilder uriBuilder, DateRange dates) {
+        if (!canFilterByDates(dates)) {
+            return;
+        }
+        long days = ChronoUnit.DAYS.between(dates.from(), dates.to()) + 1;
+        if (days <= MAX_YMD_VALUES) {
+            dates.from().datesUntil(dates.to().plusDays(1))
+                    .forEach(day -> uriBuilder.queryParam("ymd", day.format(YMD_FORMAT)));
+            return;
+        }
+        YearMonth last = YearMonth.from(dates.to());
+        for (YearMonth month = YearMonth.from(dates.from()); !month.isAfter(last); month = month.plusMonths(1)) {
+            uriBuilder.queryParam("ym", month.format(YM_FORMAT));
+        }
     }
 
     private boolean isEmptyResponse(ConnpassResponse response) {
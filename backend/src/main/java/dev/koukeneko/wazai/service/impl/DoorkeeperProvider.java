@@ -1,6 +1,7 @@
 package dev.koukeneko.wazai.service.impl;
 
 import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.DateRange;
 import dev.koukeneko.wazai.dto.WazaiEvent;
 import dev.koukeneko.wazai.dto.WazaiEvent.EventType;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
@@ -9,12 +10,21 @@ import dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
 import dev.koukeneko.wazai.dto.external.doorkeeper.DoorkeeperEvent;
 import dev.koukeneko.wazai.dto.external.doorkeeper.DoorkeeperEventWrapper;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
+import dev.koukeneko.wazai.service.ProviderQuery;
+import dev.koukeneko.wazai.service.SharedListing;
+import dev.koukeneko.wazai.service.resilience.RequestHedger;
+import dev.koukeneko.wazai.service.resilience.RequestHedgerRegistry;
+import dev.koukeneko.wazai.util.LogSampler;
 import dev.koukeneko.wazai.util.SearchHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -22,6 +32,8 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -33,48 +45,90 @@ import java.util.stream.Collectors;
 @Service
 public class DoorkeeperProvider implements ActivityProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(DoorkeeperProvider.class);
+
     private static final String PROVIDER_NAME = "Doorkeeper";
     private static final String BASE_URL = "https://api.doorkeeper.jp";
     private static final int PAGES_TO_FETCH = 4;
     private static final int RESULTS_PER_PAGE = 25;
+    private static final Duration LISTING_FRESHNESS = Duration.ofMinutes(5);
 
     @Value("${doorkeeper.api.token:}")
     private String apiToken;
 
     private final RestClient restClient;
+    private final RequestHedger hedger;
+    private final LogSampler missingTokenWarnings = new LogSampler(1, Duration.ofMinutes(10));
+
+    // Unfiltered listing, shared by keyword-less searches and the local-filter fallback
+    private final SharedListing listing;
 
-    public DoorkeeperProvider(RestClient.Builder builder) {
+    public DoorkeeperProvider(RestClient.Builder builder, RequestHedgerRegistry hedgers) {
         this.restClient = builder.baseUrl(BASE_URL).build();
+        this.hedger = hedgers.forUpstream(PROVIDER_NAME);
+        this.listing = new SharedListing(PROVIDER_NAME, LISTING_FRESHNESS, () -> fetchEvents(null, null, PAGES_TO_FETCH));
     }
 
     @Override
     public List<WazaiMapItem> search(String keyword) {
+        return search(ProviderQuery.keyword(keyword));
+    }
+
+    @Override
+    public List<WazaiMapItem> search(ProviderQuery query) {
         if (isTokenMissing()) {
-            System.err.println("[Doorkeeper] API token not configured");
+            if (missingTokenWarnings.sample() >= 0) {
+                logger.atWarn().addKeyValue("provider", PROVIDER_NAME).log("Doorkeeper API token not configured");
+            }
             return Collections.emptyList();
         }
 
-        if (isEmptyKeyword(keyword)) {
-            return fetchEvents(null);
+        String keyword = query.keyword();
+        boolean unfiltered = query.dates() == null && query.limit() == null;
+        if (isEmptyKeyword(keyword) && unfiltered) {
+            return listing.get();
         }
 
         // First try API search, then filter locally for more results
-        List<WazaiMapItem> apiResults = fetchEvents(keyword);
-        if (!apiResults.isEmpty()) {
+        List<WazaiMapItem> apiResults = fetchEvents(keyword, query.dates(), pagesFor(query.limit()));
+        if (!apiResults.isEmpty() || isEmptyKeyword(keyword)) {
             return apiResults;
         }
 
         // Fallback to local filtering if API search returns nothing
-        return fetchEvents(null).stream()
+        return listing.get().stream()
                 .filter(item -> SearchHelper.matchesKeyword(item, keyword))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<WazaiMapItem> fetchListing() {
+        return isTokenMissing() ? search((String) null) : listing.refresh();
+    }
+
     @Override
     public String getProviderName() {
         return PROVIDER_NAME;
     }
 
+    /**
+     * Doorkeeper filters by keyword ({@code q}) and start date ({@code since}/{@code until}),
+     * and pages of {@value #RESULTS_PER_PAGE} results can be cut short for a limit.
+     */
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return new ProviderCapabilities(Set.of(Country.JAPAN), true, true, true);
+    }
+
+    /**
+     * The ingested listing only holds the latest pages, so keyword and date
+     * queries must still go through the API's own search.
+     */
+    @Override
+    public IngestionMode getIngestionMode() {
+        return IngestionMode.CATALOG_BROWSE_ONLY;
+    }
+
     private boolean isTokenMissing() {
         return apiToken == null || apiToken.isBlank();
     }
@@ -83,12 +137,21 @@ public class DoorkeeperProvider implements ActivityProvider {
         return keyword == null || keyword.isBlank();
     }
 
-    private List<WazaiMapItem> fetchEvents(String keyword) {
+    private int pagesFor(Integer limit) {
+        if (limit == null) {
+            return PAGES_TO_FETCH;
+        }
+        int pages = (Math.max(limit, 1) + RESULTS_PER_PAGE - 1) / RESULTS_PER_PAGE;
+        return Math.min(pages, PAGES_TO_FETCH);
+    }
+
+    private List<WazaiMapItem> fetchEvents(String keyword, DateRange dates, int pagesToFetch) {
         List<WazaiMapItem> allEvents = new ArrayList<>();
 
-        for (int page = 1; page <= PAGES_TO_FETCH; page++) {
+        for (int page = 1; page <= pagesToFetch; page++) {
+            long startNanos = System.nanoTime();
             try {
-                List<DoorkeeperEventWrapper> pageEvents = fetchEventsPage(page, keyword);
+                List<DoorkeeperEventWrapper> pageEvents = fetchEventsPage(page, keyword, dates);
                 if (pageEvents == null || pageEvents.isEmpty()) {
                     break;
                 }
@@ -105,7 +168,12 @@ public class DoorkeeperProvider implements ActivityProvider {
                     break;
                 }
             } catch (Exception e) {
-                System.err.println("[Doorkeeper] Error fetching page " + page + ": " + e.getMessage());
+                logger.atWarn()
+                        .addKeyValue("provider", PROVIDER_NAME)
+                        .addKeyValue("page", page)
+                        .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                        .addKeyValue("outcome", "FAILED")
+                        .log("Could not fetch Doorkeeper events page: {}", e.getMessage());
                 break;
             }
         }
@@ -113,8 +181,8 @@ public class DoorkeeperProvider implements ActivityProvider {
         return allEvents;
     }
 
-    private List<DoorkeeperEventWrapper> fetchEventsPage(int page, String keyword) {
-        return restClient.get()
+    private List<DoorkeeperEventWrapper> fetchEventsPage(int page, String keyword, DateRange dates) {
+        return hedger.call(() -> restClient.get()
                 .uri(uriBuilder -> {
                     uriBuilder
                             .path("/events")
@@ -124,11 +192,18 @@ public class DoorkeeperProvider implements ActivityProvider {
                     if (keyword != null && !keyword.isBlank()) {
                         uriBuilder.queryParam("q", keyword);
                     }
+                    if (dates != null && dates.from() != null) {
+                        uriBuilder.queryParam("since", dates.from().toString());
+                    }
+                    if (dates != null && dates.to() != null) {
+                        // until is exclusive
+                        uriBuilder.queryParam("until", dates.to().plusDays(1).toString());
+                    }
                     return uriBuilder.build();
                 })
                 .header("Authorization", "Bearer " + apiToken)
                 .retrieve()
-                .body(new ParameterizedTypeReference<>() {});
+                .body(new ParameterizedTypeReference<List<DoorkeeperEventWrapper>>() {}));
     }
 
     private boolean isValidEvent(DoorkeeperEvent event) {
@@ -0,0 +1,231 @@
+package dev.koukeneko.wazai.service.impl;
+
+import dev.koukeneko.wazai.dto.external.gdg.GdgChapterInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * GDG chapters by id, rebuilt in the background and read without locks.
+ *
+ * Every rebuild loads the full chapter list into a new immutable {@link Snapshot} and
+ * swaps it in with a single volatile write, so readers always see one complete list.
+ * Rebuilds run on a schedule once {@link #start()} is called, retrying sooner after a
+ * failure. Events can name chapters the registry has not seen yet, e.g. a chapter that
+ * was founded since the last rebuild; {@link #resolve(Collection)} then asks for a rebuild
+ * right away, at most once per {@code missRefreshInterval} even while no rebuild has
+ * succeeded yet. Ids still unknown afterwards are not asked for again until the next
+ * scheduled rebuild.
+ *
+ * All rebuilds run one at a time on the registry's own thread, so callers of
+ * {@link #resolve(Collection)} never load the chapter list themselves and wait at most
+ * {@code MISS_REFRESH_WAIT} for it.
+ */
+final class GdgChapterRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GdgChapterRegistry.class);
+
+    private static final Snapshot EMPTY = new Snapshot(Map.of(), 0);
+    private static final Duration MISS_REFRESH_WAIT = Duration.ofSeconds(10);
+
+    private final Supplier<List<GdgChapterInfo>> loader;
+    private final Duration refreshInterval;
+    private final Duration retryInterval;
+    private final long missRefreshIntervalNanos;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("gdg-chapters").daemon().factory());
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Set<Long> knownMissing = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot = EMPTY;
+    // Guarded by this
+    private long lastMissRefreshNanos;
+    private CompletableFuture<Snapshot> missRefresh;
+
+    /**
+     * Chapters of one rebuild.
+     *
+     * @param chapters chapters keyed by id
+     * @param loadedAtNanos {@link System#nanoTime()} of the rebuild; unused for the initial empty snapshot
+     */
+    record Snapshot(Map<Long, GdgChapterInfo> chapters, long loadedAtNanos) {
+
+        Optional<GdgChapterInfo> find(Long chapterId) {
+            return chapterId == null ? Optional.empty() : Optional.ofNullable(chapters.get(chapterId));
+        }
+
+        boolean contains(Long chapterId) {
+            return chapterId != null && chapters.containsKey(chapterId);
+        }
+    }
+
+    /**
+     * @param loader loads the complete list of chapters to keep; blocking, and may throw
+     * @param refreshInterval time between scheduled rebuilds
+     * @param retryInterval delay before retrying a failed scheduled rebuild
+     * @param missRefreshInterval minimum time between rebuilds triggered by unknown chapters
+     */
+    GdgChapterRegistry(Supplier<List<GdgChapterInfo>> loader, Duration refreshInterval,
+                       Duration retryInterval, Duration missRefreshInterval) {
+        this.loader = loader;
+        this.refreshInterval = refreshInterval;
+        this.retryInterval = retryInterval;
+        this.missRefreshIntervalNanos = missRefreshInterval.toNanos();
+        this.lastMissRefreshNanos = System.nanoTime() - missRefreshIntervalNanos;
+    }
+
+    /**
+     * Rebuilds now, waiting for it, and schedules the following rebuilds.
+     * Only the first call does anything, so there is never more than one schedule.
+     */
+    void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(this::scheduledRefresh, scheduler).join();
+    }
+
+    /**
+     * @return the current chapters; never null, empty until the first successful rebuild
+     */
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns a snapshot that knows the given chapters if at all possible, rebuilding
+     * first when some of them are unknown and the last rebuild is old enough.
+     *
+     * @param chapterIds chapters the caller is about to look up
+     * @return the snapshot to read them from
+     */
+    Snapshot resolve(Collection<Long> chapterIds) {
+        Snapshot current = snapshot;
+        Set<Long> missing = unknown(current, chapterIds);
+        if (missing.isEmpty()) {
+            return current;
+        }
+
+        CompletableFuture<Snapshot> rebuild = missRefresh(current, missing);
+        if (rebuild == null) {
+            return current;
+        }
+        try {
+            current = rebuild.get(MISS_REFRESH_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return snapshot;
+        } catch (ExecutionException | TimeoutException e) {
+            // Still loading, or the registry was closed; the ids stay open for the next caller
+            return snapshot;
+        }
+        knownMissing.addAll(unknown(current, missing));
+        return current;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private Set<Long> unknown(Snapshot current, Collection<Long> chapterIds) {
+        return chapterIds.stream()
+                .filter(id -> id != null && !current.contains(id) && !knownMissing.contains(id))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Joins the pending rebuild for unknown chapters, or starts one on the registry's
+     * thread if the rate limit allows.
+     *
+     * @return the rebuild to wait for, or null if none may run now
+     */
+    private synchronized CompletableFuture<Snapshot> missRefresh(Snapshot current, Set<Long> missing) {
+        if (missRefresh != null && !missRefresh.isDone()) {
+            return missRefresh;
+        }
+        if (snapshot != current) {
+            // Rebuilt since the caller looked
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        long now = System.nanoTime();
+        if (!canRefreshForMisses(current, now)) {
+            return null;
+        }
+
+        logger.atInfo()
+                .addKeyValue("missing", missing.size())
+                .log("Unknown GDG chapters, reloading chapter list");
+        lastMissRefreshNanos = now;
+        try {
+            missRefresh = CompletableFuture.supplyAsync(() -> {
+                refresh();
+                return snapshot;
+            }, scheduler);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return missRefresh;
+    }
+
+    private boolean canRefreshForMisses(Snapshot current, long now) {
+        return now - lastMissRefreshNanos >= missRefreshIntervalNanos
+                && (current == EMPTY || now - current.loadedAtNanos() >= missRefreshIntervalNanos);
+    }
+
+    private void scheduledRefresh() {
+        boolean succeeded = refresh();
+        if (succeeded) {
+            knownMissing.clear();
+        }
+        Duration delay = succeeded ? refreshInterval : retryInterval;
+        try {
+            scheduler.schedule(this::scheduledRefresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed while rebuilding
+        }
+    }
+
+    /**
+     * Loads the chapter list and swaps it in. On failure the previous snapshot stays.
+     * Only runs on the registry's thread, so at most one rebuild runs at a time.
+     *
+     * @return whether a new snapshot was published
+     */
+    private boolean refresh() {
+        try {
+            List<GdgChapterInfo> chapters = loader.get();
+            if (chapters == null || chapters.isEmpty()) {
+                return false;
+            }
+            snapshot = new Snapshot(
+                    chapters.stream().collect(Collectors.toUnmodifiableMap(
+                            GdgChapterInfo::id, Function.identity(), (first, second) -> first)),
+                    System.nanoTime());
+            return true;
+        } catch (RuntimeException e) {
+            logger.atWarn()
+                    .addKeyValue("outcome", "FAILED")
+                    .log("Could not reload GDG chapters: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -5,13 +5,25 @@ import dev.koukeneko.wazai.dto.WazaiEvent;
 import dev.koukeneko.wazai.dto.WazaiMapItem;
 import dev.koukeneko.wazai.dto.external.gdg.*;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
+import dev.koukeneko.wazai.service.SharedListing;
+import dev.koukeneko.wazai.service.resilience.RequestHedger;
+import dev.koukeneko.wazai.service.resilience.RequestHedgerRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import dev.koukeneko.wazai.util.SearchHelper;
@@ -29,30 +41,63 @@ import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
  *
  * This provider filters for Taiwan (TW) chapters and uses official coordinates
  * from the GDG API instead of manual mapping.
+ *
+ * Events are listed per target country: the first page of each country tells how many
+ * pages there are, and the rest are then fetched in parallel on virtual threads, paced by
+ * the shared upstream limiter for gdg.community.dev.
+ *
+ * Chapters are kept in a {@link GdgChapterRegistry}, first loaded by {@link #warmUp()} in
+ * the background after startup and then rebuilt every {@code CHAPTERS_REFRESH_INTERVAL}.
  */
 @Service
 public class GdgCommunityProvider implements ActivityProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(GdgCommunityProvider.class);
+
     private static final String PROVIDER_NAME = "GDG Community";
     private static final String API_BASE_URL = "https://gdg.community.dev/api";
     private static final String CHAPTER_REGION_ENDPOINT = "/chapter_region";
     private static final String SEARCH_ENDPOINT = "/search/";
     private static final List<String> TARGET_COUNTRY_CODES = List.of("TW", "JP");
-    private static final int DEFAULT_PROXIMITY_KM = 10000;
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_PAGES_PER_COUNTRY = 20;
+    // Pages requested at once when the response doesn't say how many there are
+    private static final int PAGE_BATCH = 4;
+    private static final Duration LISTING_FRESHNESS = Duration.ofMinutes(10);
+    private static final Duration CHAPTERS_REFRESH_INTERVAL = Duration.ofHours(6);
+    private static final Duration CHAPTERS_RETRY_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration CHAPTERS_MISS_REFRESH_INTERVAL = Duration.ofMinutes(10);
 
     private final WebClient webClient;
-    private final Map<Long, GdgChapterInfo> chaptersCache = new HashMap<>();
+    private final RequestHedger hedger;
+    private final SharedListing listing;
+    private final GdgChapterRegistry chapterRegistry;
+    private final ExecutorService pageExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public GdgCommunityProvider(WebClient.Builder webClientBuilder) {
+    public GdgCommunityProvider(WebClient.Builder webClientBuilder, RequestHedgerRegistry hedgers) {
         this.webClient = webClientBuilder
                 .baseUrl(API_BASE_URL)
                 .build();
-        loadTaiwanChapters();
+        this.hedger = hedgers.forUpstream(PROVIDER_NAME);
+        this.listing = new SharedListing(PROVIDER_NAME, LISTING_FRESHNESS, this::fetchGdgEvents);
+        this.chapterRegistry = new GdgChapterRegistry(this::loadTaiwanChapters,
+                CHAPTERS_REFRESH_INTERVAL, CHAPTERS_RETRY_INTERVAL, CHAPTERS_MISS_REFRESH_INTERVAL);
+    }
+
+    @Override
+    public void warmUp() {
+        chapterRegistry.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        chapterRegistry.close();
+        pageExecutor.shutdownNow();
     }
 
     @Override
     public List<WazaiMapItem> search(String keyword) {
-        List<WazaiMapItem> allEvents = fetchGdgEvents();
+        List<WazaiMapItem> allEvents = listing.get();
 
         if (isEmptyKeyword(keyword)) {
             return allEvents;
@@ -63,56 +108,69 @@ public class GdgCommunityProvider implements ActivityProvider {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<WazaiMapItem> fetchListing() {
+        return listing.refresh();
+    }
+
     @Override
     public String getProviderName() {
         return PROVIDER_NAME;
     }
 
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return ProviderCapabilities.locatedIn(Country.TAIWAN, Country.JAPAN);
+    }
+
     private boolean isEmptyKeyword(String keyword) {
         return keyword == null || keyword.isBlank();
     }
 
     /**
      * Loads all target country GDG chapters from chapter_region API.
-     * Filters by country codes (TW, JP) and caches the results.
+     * Filters by country codes (TW, JP); the registry keeps the result.
      */
-    private void loadTaiwanChapters() {
-        try {
-            System.out.println("[GDG] Loading GDG chapters from API...");
-            List<GdgRegion> regions = webClient
-                    .get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(CHAPTER_REGION_ENDPOINT)
-                            .queryParam("chapters", "true")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<List<GdgRegion>>() {})
-                    .block();
-
-            if (regions == null || regions.isEmpty()) {
-                System.out.println("[GDG] No regions found");
-                return;
-            }
-
-            filterAndCacheTaiwanChapters(regions);
-
-            long taiwanCount = chaptersCache.values().stream()
-                    .filter(c -> "TW".equalsIgnoreCase(c.country()))
-                    .count();
-            long japanCount = chaptersCache.values().stream()
-                    .filter(c -> "JP".equalsIgnoreCase(c.country()))
-                    .count();
-
-            System.out.println("[GDG] Loaded " + chaptersCache.size() + " chapters " +
-                    "(TW: " + taiwanCount + ", JP: " + japanCount + ")");
-
-        } catch (Exception e) {
-            System.err.println("[GDG] Failed to load chapters: " + e.getMessage());
-            e.printStackTrace();
+    private List<GdgChapterInfo> loadTaiwanChapters() {
+        logger.debug("Loading GDG chapters");
+        List<GdgRegion> regions = webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(CHAPTER_REGION_ENDPOINT)
+                        .queryParam("chapters", "true")
+                        .build())
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<GdgRegion>>() {})
+                .block();
+
+        if (regions == null || regions.isEmpty()) {
+            logger.atWarn()
+                    .addKeyValue("provider", PROVIDER_NAME)
+                    .addKeyValue("outcome", "EMPTY")
+                    .log("GDG chapter_region returned no regions");
+            return List.of();
         }
+
+        List<GdgChapterInfo> chapters = filterTaiwanChapters(regions);
+
+        long taiwanCount = chapters.stream()
+                .filter(c -> "TW".equalsIgnoreCase(c.country()))
+                .count();
+        long japanCount = chapters.stream()
+                .filter(c -> "JP".equalsIgnoreCase(c.country()))
+                .count();
+
+        logger.atInfo()
+                .addKeyValue("provider", PROVIDER_NAME)
+                .addKeyValue("chapters", chapters.size())
+                .addKeyValue("tw", taiwanCount)
+                .addKeyValue("jp", japanCount)
+                .log("Loaded GDG chapters");
+        return chapters;
     }
 
-    private void filterAndCacheTaiwanChapters(List<GdgRegion> regions) {
+    private List<GdgChapterInfo> filterTaiwanChapters(List<GdgRegion> regions) {
+        List<GdgChapterInfo> chapters = new ArrayList<>();
         for (GdgRegion region : regions) {
             if (region.chapters() == null) {
                 continue;
@@ -120,91 +178,198 @@ public class GdgCommunityProvider implements ActivityProvider {
 
             for (GdgChapterInfo chapter : region.chapters()) {
                 if (isTargetChapter(chapter)) {
-                    chaptersCache.put(chapter.id(), chapter);
+                    chapters.add(chapter);
                 }
             }
         }
+        return chapters;
     }
 
     private boolean isTargetChapter(GdgChapterInfo chapter) {
-        return chapter.country() != null
-                && TARGET_COUNTRY_CODES.stream()
-                        .anyMatch(code -> code.equalsIgnoreCase(chapter.country()))
+        return chapter.id() != null
+                && isTargetCountry(chapter.country())
                 && chapter.active() != null
                 && chapter.active();
     }
 
+    private boolean isTargetCountry(String countryCode) {
+        return countryCode != null
+                && TARGET_COUNTRY_CODES.stream().anyMatch(code -> code.equalsIgnoreCase(countryCode));
+    }
+
     private List<WazaiMapItem> fetchGdgEvents() {
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<List<GdgEvent>>> countries = TARGET_COUNTRY_CODES.stream()
+                .map(countryCode -> CompletableFuture.supplyAsync(() -> fetchCountryEvents(countryCode), pageExecutor))
+                .toList();
+
+        // Pages can shift while they are read, so the same event may show up twice
+        Map<Long, GdgEvent> events = new LinkedHashMap<>();
+        for (CompletableFuture<List<GdgEvent>> country : countries) {
+            for (GdgEvent event : country.join()) {
+                if (event.id() != null) {
+                    events.putIfAbsent(event.id(), event);
+                }
+            }
+        }
+
+        List<WazaiMapItem> items = transformGdgEvents(List.copyOf(events.values()));
+        logger.atInfo()
+                .addKeyValue("provider", PROVIDER_NAME)
+                .addKeyValue("items", items.size())
+                .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .log("Fetched GDG events");
+        return items;
+    }
+
+    /**
+     * Reads every page of upcoming events of one country. The first page is read alone;
+     * when it reports the total the remaining pages are all requested at once, otherwise
+     * they are requested in batches until a page comes back short. A failed page is skipped
+     * and doesn't end paging by itself; only a batch in which every page failed does.
+     */
+    List<GdgEvent> fetchCountryEvents(String countryCode) {
+        GdgApiResponse first = fetchEventsPage(countryCode, 1);
+        if (first == null || first.results() == null) {
+            return List.of();
+        }
+
+        List<GdgEvent> events = new ArrayList<>(first.results());
+        if (first.count() != null) {
+            int reportedPages = (first.count() + PAGE_SIZE - 1) / PAGE_SIZE;
+            int pages = Math.min(MAX_PAGES_PER_COUNTRY, reportedPages);
+            addResults(fetchPages(countryCode, 2, pages), events);
+            if (reportedPages > pages) {
+                logger.atWarn()
+                        .addKeyValue("provider", PROVIDER_NAME)
+                        .addKeyValue("country", countryCode)
+                        .addKeyValue("reportedCount", first.count())
+                        .addKeyValue("fetched", events.size())
+                        .log("GDG reported more events than the page cap allows; the rest were not fetched");
+            }
+            return events;
+        }
+
+        boolean more = hasMorePages(first);
+        for (int from = 2; more && from <= MAX_PAGES_PER_COUNTRY; from += PAGE_BATCH) {
+            int to = Math.min(MAX_PAGES_PER_COUNTRY, from + PAGE_BATCH - 1);
+            List<GdgApiResponse> read = addResults(fetchPages(countryCode, from, to), events);
+            if (read.isEmpty()) {
+                logger.atWarn()
+                        .addKeyValue("provider", PROVIDER_NAME)
+                        .addKeyValue("country", countryCode)
+                        .addKeyValue("pages", from + "-" + to)
+                        .addKeyValue("outcome", "FAILED")
+                        .log("Stopped paging GDG events because no page of the batch could be read");
+                return events;
+            }
+            more = read.stream().allMatch(this::hasMorePages);
+        }
+        return events;
+    }
+
+    /**
+     * Fetches pages {@code from..to} in parallel, in page order.
+     * A page that could not be read is a null entry.
+     */
+    private List<GdgApiResponse> fetchPages(String countryCode, int from, int to) {
+        List<CompletableFuture<GdgApiResponse>> pages = new ArrayList<>();
+        for (int page = from; page <= to; page++) {
+            int pageNumber = page;
+            pages.add(CompletableFuture.supplyAsync(() -> fetchEventsPage(countryCode, pageNumber), pageExecutor));
+        }
+        return pages.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Adds the events of the pages that could be read.
+     *
+     * @return those pages
+     */
+    private List<GdgApiResponse> addResults(List<GdgApiResponse> pages, List<GdgEvent> events) {
+        List<GdgApiResponse> read = pages.stream().filter(Objects::nonNull).toList();
+        read.stream()
+                .filter(page -> page.results() != null)
+                .forEach(page -> events.addAll(page.results()));
+        return read;
+    }
+
+    private boolean hasMorePages(GdgApiResponse page) {
+        return page.next() != null || (page.results() != null && page.results().size() >= PAGE_SIZE);
+    }
+
+    /**
+     * @return the page, or null if it could not be read
+     */
+    private GdgApiResponse fetchEventsPage(String countryCode, int page) {
         try {
-            GdgApiResponse response = webClient
+            return hedger.call(() -> webClient
                     .get()
                     .uri(uriBuilder -> uriBuilder
                             .path(SEARCH_ENDPOINT)
                             .queryParam("result_types", "upcoming_event")
-                            .queryParam("order_by_proximity", "true")
-                            .queryParam("proximity", DEFAULT_PROXIMITY_KM)
+                            .queryParam("country_code", countryCode)
+                            .queryParam("page", page)
+                            .queryParam("page_size", PAGE_SIZE)
                             .build())
                     .retrieve()
                     .bodyToMono(GdgApiResponse.class)
-                    .block();
-
-            if (response == null || response.results() == null || response.results().isEmpty()) {
-                return Collections.emptyList();
-            }
-
-            return transformGdgEvents(response.results());
-
+                    .block());
         } catch (Exception e) {
-            return Collections.emptyList();
+            logger.atWarn()
+                    .addKeyValue("provider", PROVIDER_NAME)
+                    .addKeyValue("country", countryCode)
+                    .addKeyValue("page", page)
+                    .addKeyValue("outcome", "FAILED")
+                    .log("Could not fetch GDG events page: {}", e.getMessage());
+            return null;
         }
     }
 
+    /**
+     * Keeps the events of known TW/JP chapters. Events whose own chapter data says TW/JP
+     * but whose chapter the registry doesn't know yet make it reload once before the lookup.
+     */
     private List<WazaiMapItem> transformGdgEvents(List<GdgEvent> gdgEvents) {
-        return gdgEvents.stream()
-                .filter(this::isTaiwanEvent)
-                .map(this::transformToWazaiEvent)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private boolean isTaiwanEvent(GdgEvent event) {
-        if (event.chapter() == null || event.chapter().id() == null) {
-            return false;
+        Set<Long> targetChapterIds = gdgEvents.stream()
+                .map(GdgEvent::chapter)
+                .filter(chapter -> chapter != null && chapter.id() != null && isTargetCountry(chapter.country()))
+                .map(GdgChapter::id)
+                .collect(Collectors.toSet());
+        GdgChapterRegistry.Snapshot chapters = chapterRegistry.resolve(targetChapterIds);
+
+        List<WazaiMapItem> events = new ArrayList<>();
+        for (GdgEvent gdgEvent : gdgEvents) {
+            Long chapterId = gdgEvent.chapter() != null ? gdgEvent.chapter().id() : null;
+            chapters.find(chapterId)
+                    .map(chapter -> transformToWazaiEvent(gdgEvent, chapter))
+                    .ifPresent(events::add);
         }
-        return chaptersCache.containsKey(event.chapter().id());
+        return events;
     }
 
-    private WazaiEvent transformToWazaiEvent(GdgEvent gdgEvent) {
+    private WazaiEvent transformToWazaiEvent(GdgEvent gdgEvent, GdgChapterInfo chapter) {
         try {
             return new WazaiEvent(
                     generateEventId(gdgEvent.id()),
                     gdgEvent.title(),
                     extractDescription(gdgEvent),
                     gdgEvent.url(),
-                    extractCoordinates(gdgEvent),
-                    extractAddress(gdgEvent),
+                    extractCoordinates(chapter),
+                    chapter.title(),
                     parseStartTime(gdgEvent.startDate()),
                     null,
                     EventType.COMMUNITY_GATHERING,
                     DataSource.GOOGLE_COMMUNITY,
-                    determineCountry(gdgEvent)
+                    determineCountry(chapter)
             );
         } catch (Exception e) {
             return null;
         }
     }
 
-    private String extractAddress(GdgEvent event) {
-        if (event.chapter() == null || event.chapter().id() == null) {
-            return null;
-        }
-        GdgChapterInfo chapterInfo = chaptersCache.get(event.chapter().id());
-        if (chapterInfo == null) {
-            return null;
-        }
-        return chapterInfo.title();
-    }
-
     private String generateEventId(Long gdgEventId) {
         return "gdg-" + gdgEventId;
     }
@@ -218,35 +383,18 @@ public class GdgCommunityProvider implements ActivityProvider {
     }
 
     /**
-     * Extracts coordinates from cached chapter info.
-     * Uses official coordinates from GDG API instead of manual mapping.
+     * Uses the chapter's official coordinates from the GDG API instead of manual mapping,
+     * falling back to the country's main city for the rare chapter without any.
      */
-    private Coordinates extractCoordinates(GdgEvent event) {
-        if (event.chapter() == null || event.chapter().id() == null) {
-            return Coordinates.taipei();
-        }
-
-        GdgChapterInfo chapterInfo = chaptersCache.get(event.chapter().id());
-        if (chapterInfo == null
-                || chapterInfo.latitude() == null
-                || chapterInfo.longitude() == null) {
-            return Coordinates.taipei();
+    private Coordinates extractCoordinates(GdgChapterInfo chapter) {
+        if (chapter.latitude() == null || chapter.longitude() == null) {
+            return determineCountry(chapter) == Country.JAPAN ? Coordinates.tokyo() : Coordinates.taipei();
         }
-
-        return new Coordinates(chapterInfo.latitude(), chapterInfo.longitude());
+        return new Coordinates(chapter.latitude(), chapter.longitude());
     }
 
-    private Country determineCountry(GdgEvent event) {
-        if (event.chapter() == null || event.chapter().id() == null) {
-            return Country.DEFAULT;
-        }
-
-        GdgChapterInfo chapterInfo = chaptersCache.get(event.chapter().id());
-        if (chapterInfo == null || chapterInfo.country() == null) {
-            return Country.DEFAULT;
-        }
-
-        return switch (chapterInfo.country().toUpperCase()) {
+    private Country determineCountry(GdgChapterInfo chapter) {
+        return switch (chapter.country().toUpperCase()) {
             case "TW" -> Country.TAIWAN;
             case "JP" -> Country.JAPAN;
             default -> Country.DEFAULT;
@@ -4,6 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.koukeneko.wazai.dto.Coordinates;
 import dev.koukeneko.wazai.service.GeocodingService;
+import dev.koukeneko.wazai.service.geocoding.GeocodeRequestQueue;
+import dev.koukeneko.wazai.service.geocoding.GeocodeStore;
+import dev.koukeneko.wazai.service.geocoding.GeocodingException;
+import dev.koukeneko.wazai.util.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
@@ -11,9 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,7 +36,11 @@ import java.util.regex.Pattern;
 @ConditionalOnProperty(name = "google.maps.api.key", matchIfMissing = false)
 public class GoogleMapsGeocodingService implements GeocodingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GoogleMapsGeocodingService.class);
+
+    private static final String GEOCODER_NAME = "google-maps";
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int WORKER_COUNT = 8;
 
     // Japan geographic bounds for coordinate validation
     private static final double JAPAN_MIN_LAT = 24.0;
@@ -51,67 +62,91 @@ public class GoogleMapsGeocodingService implements GeocodingService {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    private final Map<String, Optional<Coordinates>> geocodeCache;
+    private final GeocodeRequestQueue requestQueue;
+    private final LogSampler failures = new LogSampler(5, Duration.ofMinutes(1));
     private final String apiKey;
 
     public GoogleMapsGeocodingService(
             WebClient.Builder webClientBuilder,
+            GeocodeStore geocodeStore,
+            MeterRegistry meterRegistry,
             @Value("${google.maps.api.key}") String apiKey) {
         this.webClient = webClientBuilder.build();
         this.objectMapper = new ObjectMapper();
-        this.geocodeCache = new ConcurrentHashMap<>();
+        this.requestQueue = new GeocodeRequestQueue("google-maps", WORKER_COUNT, geocodeStore, meterRegistry);
         this.apiKey = apiKey;
-        System.out.println("[GoogleMaps] Geocoding service initialized");
+        logger.info("Google Maps geocoding enabled");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestQueue.close();
     }
 
     @Override
-    public Optional<Coordinates> geocode(String address) {
+    public CompletableFuture<Optional<Coordinates>> geocodeAsync(String address) {
         if (address == null || address.isBlank()) {
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
         // Just remove postal code, pass original address to Google Maps
         String normalizedAddress = address.replaceAll("〒?\\d{3}-?\\d{4}\\s*", "").trim();
-        return geocodeCache.computeIfAbsent(normalizedAddress, addr -> fetchCoordinates(addr, address));
+        return requestQueue.lookup(normalizedAddress, addr -> fetchCoordinates(addr, address));
     }
 
+    /**
+     * @return the coordinates, or empty if Google Maps has no match inside Japan
+     * @throws GeocodingException if the request failed, was refused or the response was unreadable
+     */
     private Optional<Coordinates> fetchCoordinates(String address, String originalAddress) {
+        String response;
         try {
-            System.out.println("[GoogleMaps] Geocoding: " + address);
+            logger.debug("Geocoding {}", address);
 
-            String response = webClient.get()
+            response = webClient.get()
                     .uri("https://maps.googleapis.com/maps/api/geocode/json?address={address}&key={key}&language=ja&region=jp",
                             address, apiKey)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(REQUEST_TIMEOUT)
                     .block();
-
-            if (response == null || response.isBlank()) {
-                return Optional.empty();
-            }
-
-            return parseResponse(response, originalAddress);
-
         } catch (Exception e) {
-            System.err.println("[GoogleMaps] Error geocoding address '" + address + "': " + e.getMessage());
-            return Optional.empty();
+            logFailure("REQUEST_FAILED", e);
+            throw new GeocodingException(GEOCODER_NAME, "request failed", e);
+        }
+
+        if (response == null || response.isBlank()) {
+            throw new GeocodingException(GEOCODER_NAME, "empty response", null);
         }
+        return parseResponse(response, originalAddress);
     }
 
     private Optional<Coordinates> parseResponse(String response, String originalAddress) {
+        JsonNode root;
+        String status;
         try {
-            JsonNode root = objectMapper.readTree(response);
-            String status = root.get("status").asText();
+            root = objectMapper.readTree(response);
+            status = root.get("status").asText();
+        } catch (Exception e) {
+            logFailure("UNPARSEABLE", e);
+            throw new GeocodingException(GEOCODER_NAME, "unreadable response", e);
+        }
 
-            if (!"OK".equals(status)) {
-                System.out.println("[GoogleMaps] API returned status: " + status);
-                return Optional.empty();
-            }
+        if ("ZERO_RESULTS".equals(status)) {
+            logger.debug("No Google Maps results");
+            return Optional.empty();
+        }
+        if (!"OK".equals(status)) {
+            // OVER_QUERY_LIMIT, REQUEST_DENIED, UNKNOWN_ERROR and the like say nothing about the address
+            GeocodingException failure = new GeocodingException(GEOCODER_NAME, "status " + status, null);
+            logFailure("STATUS_" + status, failure);
+            throw failure;
+        }
 
+        try {
             JsonNode results = root.get("results");
             if (results == null || !results.isArray() || results.isEmpty()) {
-                System.out.println("[GoogleMaps] No results found");
+                logger.debug("No Google Maps results");
                 return Optional.empty();
             }
 
@@ -127,22 +162,22 @@ public class GoogleMapsGeocodingService implements GeocodingService {
 
             // Validate coordinates are within Japan bounds
             if (!isWithinJapanBounds(latitude, longitude)) {
-                System.out.println("[GoogleMaps] Coordinates outside Japan bounds: " + latitude + ", " + longitude);
+                logger.debug("Google Maps result outside Japan: {}, {}", latitude, longitude);
                 return Optional.empty();
             }
 
             // Verify the result matches expected location from original address
             if (!verifyLocationMatch(originalAddress, formattedAddress)) {
-                System.out.println("[GoogleMaps] Location mismatch! Original: " + originalAddress + ", Got: " + formattedAddress);
+                logger.debug("Google Maps result {} does not match {}", formattedAddress, originalAddress);
                 return Optional.empty();
             }
 
-            System.out.println("[GoogleMaps] Found: " + latitude + ", " + longitude + " (" + formattedAddress + ")");
+            logger.debug("Google Maps found {}, {} ({})", latitude, longitude, formattedAddress);
             return Optional.of(new Coordinates(latitude, longitude));
 
         } catch (Exception e) {
-            System.err.println("[GoogleMaps] Error parsing response: " + e.getMessage());
-            return Optional.empty();
+            logFailure("UNPARSEABLE", e);
+            throw new GeocodingException(GEOCODER_NAME, "unreadable response", e);
         }
     }
 
@@ -167,7 +202,7 @@ public class GoogleMapsGeocodingService implements GeocodingService {
         if (cityWardMatcher.find()) {
             String expectedCityWard = cityWardMatcher.group(1);
             if (!formattedAddress.contains(expectedCityWard)) {
-                System.out.println("[GoogleMaps] City/ward mismatch! Expected: " + expectedCityWard + ", Got: " + formattedAddress);
+                logger.debug("Google Maps result {} is not in {}", formattedAddress, expectedCityWard);
                 return false;
             }
             return true;
@@ -176,4 +211,15 @@ public class GoogleMapsGeocodingService implements GeocodingService {
         // Can't verify, assume OK
         return true;
     }
-}
+
+    private void logFailure(String outcome, Exception e) {
+        long suppressed = failures.sample();
+        if (suppressed >= 0) {
+            logger.atWarn()
+                    .addKeyValue("geocoder", GEOCODER_NAME)
+                    .addKeyValue("outcome", outcome)
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Geocoding failed: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
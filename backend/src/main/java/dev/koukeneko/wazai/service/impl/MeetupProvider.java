@@ -8,18 +8,24 @@ import dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
 import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
 import dev.koukeneko.wazai.dto.external.meetup.*;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
 import dev.koukeneko.wazai.util.SearchHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class MeetupProvider implements ActivityProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(MeetupProvider.class);
+
     private static final String PROVIDER_NAME = "Meetup";
     private static final String API_URL = "https://www.meetup.com/gql2";
     
@@ -76,7 +82,21 @@ public class MeetupProvider implements ActivityProvider {
         return PROVIDER_NAME;
     }
 
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return new ProviderCapabilities(Set.of(Country.JAPAN), true, false, false);
+    }
+
+    /**
+     * Meetup can only be searched by keyword, so there is no listing to ingest.
+     */
+    @Override
+    public IngestionMode getIngestionMode() {
+        return IngestionMode.LIVE;
+    }
+
     private List<WazaiMapItem> fetchEvents(String keyword, double lat, double lon) {
+        long startNanos = System.nanoTime();
         try {
             Map<String, Object> variables = Map.of(
                 "query", keyword,
@@ -107,7 +127,11 @@ public class MeetupProvider implements ActivityProvider {
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
-            System.err.println("[Meetup] Error fetching events: " + e.getMessage());
+            logger.atWarn()
+                    .addKeyValue("provider", PROVIDER_NAME)
+                    .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                    .addKeyValue("outcome", "FAILED")
+                    .log("Could not search Meetup events: {}", e.getMessage());
             return Collections.emptyList();
         }
     }
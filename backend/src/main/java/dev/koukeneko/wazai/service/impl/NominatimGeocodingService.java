@@ -4,6 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.koukeneko.wazai.dto.Coordinates;
 import dev.koukeneko.wazai.service.GeocodingService;
+import dev.koukeneko.wazai.service.geocoding.GeocodeRequestQueue;
+import dev.koukeneko.wazai.service.geocoding.GeocodeStore;
+import dev.koukeneko.wazai.service.geocoding.GeocodingException;
+import dev.koukeneko.wazai.util.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -11,9 +19,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Geocoding service using OpenStreetMap Nominatim API.
@@ -21,7 +30,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * Nominatim is free but requires:
  * - Max 1 request per second
  * - User-Agent header identifying the application
- * - Caching results to minimize API calls
+ * - Caching results (shared and persisted via GeocodeStore) to minimize API calls
+ *
+ * Lookups go through a single worker, so callers never sleep and identical in-flight
+ * addresses are fetched only once. The worker itself spaces requests at least
+ * {@code MIN_REQUEST_INTERVAL} apart, so the usage policy holds whatever the shared
+ * upstream limiter (wazai.upstream-limits) is configured to, or if it is switched off.
  *
  * @see <a href="https://nominatim.org/release-docs/develop/api/Search/">Nominatim API</a>
  */
@@ -29,34 +43,46 @@ import java.util.concurrent.ConcurrentHashMap;
 @ConditionalOnMissingBean(GeocodingService.class)
 public class NominatimGeocodingService implements GeocodingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NominatimGeocodingService.class);
+
+    private static final String GEOCODER_NAME = "nominatim";
     private static final String NOMINATIM_API_URL = "https://nominatim.openstreetmap.org/search";
     private static final String USER_AGENT = "WazaiMaps/1.0 (https://github.com/koukeneko/wazai)";
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
-    private static final long RATE_LIMIT_MS = 1100;
+    private static final int WORKER_COUNT = 1;
+    private static final Duration MIN_REQUEST_INTERVAL = Duration.ofSeconds(1);
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    private final Map<String, Optional<Coordinates>> geocodeCache;
-
-    private long lastRequestTime = 0;
-
-    public NominatimGeocodingService(WebClient.Builder webClientBuilder) {
+    private final GeocodeRequestQueue requestQueue;
+    private final LogSampler failures = new LogSampler(5, Duration.ofMinutes(1));
+    private final ReentrantLock pacing = new ReentrantLock();
+    // Guarded by pacing
+    private long nextRequestAtNanos = System.nanoTime();
+
+    public NominatimGeocodingService(WebClient.Builder webClientBuilder, GeocodeStore geocodeStore,
+                                     MeterRegistry meterRegistry) {
         this.webClient = webClientBuilder
                 .defaultHeader("User-Agent", USER_AGENT)
                 .build();
         this.objectMapper = new ObjectMapper();
-        this.geocodeCache = new ConcurrentHashMap<>();
+        this.requestQueue = new GeocodeRequestQueue("nominatim", WORKER_COUNT, geocodeStore, meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestQueue.close();
     }
 
     @Override
-    public Optional<Coordinates> geocode(String address) {
+    public CompletableFuture<Optional<Coordinates>> geocodeAsync(String address) {
         if (address == null || address.isBlank()) {
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
         String normalizedAddress = normalizeAddress(address);
 
-        return geocodeCache.computeIfAbsent(normalizedAddress, this::fetchCoordinates);
+        return requestQueue.lookup(normalizedAddress, this::fetchCoordinates);
     }
 
     private String normalizeAddress(String address) {
@@ -106,54 +132,46 @@ public class NominatimGeocodingService implements GeocodingService {
                 .trim();
     }
 
+    /**
+     * @return the coordinates, or empty if Nominatim has no match
+     * @throws GeocodingException if the request failed or the response was unreadable
+     */
     private Optional<Coordinates> tryGeocode(String address) {
+        awaitRequestSlot();
+        String response;
         try {
-            System.out.println("[Nominatim] Geocoding: " + address);
-            enforceRateLimit();
+            logger.debug("Geocoding {}", address);
 
             String encodedAddress = URLEncoder.encode(address, StandardCharsets.UTF_8);
             String url = NOMINATIM_API_URL + "?q=" + encodedAddress + "&format=json&limit=1&countrycodes=jp";
 
-            String response = webClient.get()
+            response = webClient.get()
                     .uri(url)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(REQUEST_TIMEOUT)
                     .block();
-
-            if (response == null || response.isBlank()) {
-                return Optional.empty();
-            }
-
-            return parseResponse(response);
-
         } catch (Exception e) {
-            System.err.println("[Nominatim] Error geocoding address '" + address + "': " + e.getMessage());
-            return Optional.empty();
+            logFailure("REQUEST_FAILED", e);
+            throw new GeocodingException(GEOCODER_NAME, "request failed", e);
         }
-    }
 
-    private synchronized void enforceRateLimit() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRequest = currentTime - lastRequestTime;
-
-        if (timeSinceLastRequest < RATE_LIMIT_MS) {
-            try {
-                Thread.sleep(RATE_LIMIT_MS - timeSinceLastRequest);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        // No match is an empty array; an empty body is not an answer
+        if (response == null || response.isBlank()) {
+            throw new GeocodingException(GEOCODER_NAME, "empty response", null);
         }
-
-        lastRequestTime = System.currentTimeMillis();
+        return parseResponse(response);
     }
 
     private Optional<Coordinates> parseResponse(String response) {
         try {
             JsonNode results = objectMapper.readTree(response);
 
-            if (!results.isArray() || results.isEmpty()) {
-                System.out.println("[Nominatim] No results found");
+            if (!results.isArray()) {
+                throw new IllegalStateException("Expected a JSON array");
+            }
+            if (results.isEmpty()) {
+                logger.debug("No Nominatim results");
                 return Optional.empty();
             }
 
@@ -161,12 +179,43 @@ public class NominatimGeocodingService implements GeocodingService {
             double latitude = firstResult.get("lat").asDouble();
             double longitude = firstResult.get("lon").asDouble();
 
-            System.out.println("[Nominatim] Found: " + latitude + ", " + longitude);
+            logger.debug("Nominatim found {}, {}", latitude, longitude);
             return Optional.of(new Coordinates(latitude, longitude));
 
         } catch (Exception e) {
-            System.err.println("[Nominatim] Error parsing response: " + e.getMessage());
-            return Optional.empty();
+            logFailure("UNPARSEABLE", e);
+            throw new GeocodingException(GEOCODER_NAME, "unreadable response", e);
+        }
+    }
+
+    /**
+     * Waits until {@code MIN_REQUEST_INTERVAL} has passed since the previous request.
+     * Only the lookup workers wait here, never the callers.
+     */
+    private void awaitRequestSlot() {
+        pacing.lock();
+        try {
+            long waitNanos = nextRequestAtNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            nextRequestAtNanos = System.nanoTime() + MIN_REQUEST_INTERVAL.toNanos();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeocodingException(GEOCODER_NAME, "interrupted while waiting to send", e);
+        } finally {
+            pacing.unlock();
+        }
+    }
+
+    private void logFailure(String outcome, Exception e) {
+        long suppressed = failures.sample();
+        if (suppressed >= 0) {
+            logger.atWarn()
+                    .addKeyValue("geocoder", GEOCODER_NAME)
+                    .addKeyValue("outcome", outcome)
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Geocoding failed: {}", e.getMessage());
         }
     }
-}
+}
\ No newline at end of file
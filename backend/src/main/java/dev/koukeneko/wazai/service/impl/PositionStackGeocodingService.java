@@ -4,6 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.koukeneko.wazai.dto.Coordinates;
 import dev.koukeneko.wazai.service.GeocodingService;
+import dev.koukeneko.wazai.service.geocoding.GeocodeRequestQueue;
+import dev.koukeneko.wazai.service.geocoding.GeocodeStore;
+import dev.koukeneko.wazai.service.geocoding.GeocodingException;
+import dev.koukeneko.wazai.util.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
@@ -12,9 +20,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Geocoding service using PositionStack API.
@@ -26,32 +33,44 @@ import java.util.concurrent.ConcurrentHashMap;
 @ConditionalOnProperty(name = "positionstack.api.key", matchIfMissing = false)
 public class PositionStackGeocodingService implements GeocodingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PositionStackGeocodingService.class);
+
+    private static final String GEOCODER_NAME = "positionstack";
     private static final String API_URL = "http://api.positionstack.com/v1/forward";
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int WORKER_COUNT = 4;
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    private final Map<String, Optional<Coordinates>> geocodeCache;
+    private final GeocodeRequestQueue requestQueue;
+    private final LogSampler failures = new LogSampler(5, Duration.ofMinutes(1));
     private final String apiKey;
 
     public PositionStackGeocodingService(
             WebClient.Builder webClientBuilder,
+            GeocodeStore geocodeStore,
+            MeterRegistry meterRegistry,
             @Value("${positionstack.api.key}") String apiKey) {
         this.webClient = webClientBuilder.build();
         this.objectMapper = new ObjectMapper();
-        this.geocodeCache = new ConcurrentHashMap<>();
+        this.requestQueue = new GeocodeRequestQueue("positionstack", WORKER_COUNT, geocodeStore, meterRegistry);
         this.apiKey = apiKey;
-        System.out.println("[PositionStack] Geocoding service initialized");
+        logger.info("PositionStack geocoding enabled");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestQueue.close();
     }
 
     @Override
-    public Optional<Coordinates> geocode(String address) {
+    public CompletableFuture<Optional<Coordinates>> geocodeAsync(String address) {
         if (address == null || address.isBlank()) {
-            return Optional.empty();
+            return CompletableFuture.completedFuture(Optional.empty());
         }
 
         String normalizedAddress = normalizeAddress(address);
-        return geocodeCache.computeIfAbsent(normalizedAddress, this::fetchCoordinates);
+        return requestQueue.lookup(normalizedAddress, this::fetchCoordinates);
     }
 
     private String normalizeAddress(String address) {
@@ -73,39 +92,45 @@ public class PositionStackGeocodingService implements GeocodingService {
                 .trim();
     }
 
+    /**
+     * @return the coordinates, or empty if PositionStack has no match
+     * @throws GeocodingException if the request failed or the response was an error or unreadable
+     */
     private Optional<Coordinates> fetchCoordinates(String address) {
+        String response;
         try {
-            System.out.println("[PositionStack] Geocoding: " + address);
+            logger.debug("Geocoding {}", address);
 
             String encodedAddress = URLEncoder.encode(address, StandardCharsets.UTF_8);
             String url = API_URL + "?access_key=" + apiKey + "&query=" + encodedAddress + "&country=JP&limit=1";
 
-            String response = webClient.get()
+            response = webClient.get()
                     .uri(url)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(REQUEST_TIMEOUT)
                     .block();
-
-            if (response == null || response.isBlank()) {
-                return Optional.empty();
-            }
-
-            return parseResponse(response);
-
         } catch (Exception e) {
-            System.err.println("[PositionStack] Error geocoding address '" + address + "': " + e.getMessage());
-            return Optional.empty();
+            logFailure("REQUEST_FAILED", e);
+            throw new GeocodingException(GEOCODER_NAME, "request failed", e);
+        }
+
+        if (response == null || response.isBlank()) {
+            throw new GeocodingException(GEOCODER_NAME, "empty response", null);
         }
+        return parseResponse(response);
     }
 
     private Optional<Coordinates> parseResponse(String response) {
         try {
             JsonNode root = objectMapper.readTree(response);
+            if (root.has("error")) {
+                throw new IllegalStateException("PositionStack error " + root.get("error"));
+            }
             JsonNode data = root.get("data");
 
             if (data == null || !data.isArray() || data.isEmpty()) {
-                System.out.println("[PositionStack] No results found");
+                logger.debug("No PositionStack results");
                 return Optional.empty();
             }
 
@@ -113,12 +138,23 @@ public class PositionStackGeocodingService implements GeocodingService {
             double latitude = firstResult.get("latitude").asDouble();
             double longitude = firstResult.get("longitude").asDouble();
 
-            System.out.println("[PositionStack] Found: " + latitude + ", " + longitude);
+            logger.debug("PositionStack found {}, {}", latitude, longitude);
             return Optional.of(new Coordinates(latitude, longitude));
 
         } catch (Exception e) {
-            System.err.println("[PositionStack] Error parsing response: " + e.getMessage());
-            return Optional.empty();
+            logFailure("UNPARSEABLE", e);
+            throw new GeocodingException(GEOCODER_NAME, "unreadable response", e);
+        }
+    }
+
+    private void logFailure(String outcome, Exception e) {
+        long suppressed = failures.sample();
+        if (suppressed >= 0) {
+            logger.atWarn()
+                    .addKeyValue("geocoder", GEOCODER_NAME)
+                    .addKeyValue("outcome", outcome)
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Geocoding failed: {}", e.getMessage());
         }
     }
-}
+}
\ No newline at end of file
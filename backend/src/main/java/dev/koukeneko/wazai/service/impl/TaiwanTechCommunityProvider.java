@@ -7,6 +7,7 @@ import dev.koukeneko.wazai.dto.WazaiMapItem;
 import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
 import dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
 import dev.koukeneko.wazai.util.SearchHelper;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -126,6 +127,11 @@ public class TaiwanTechCommunityProvider implements ActivityProvider {
         return PROVIDER_NAME;
     }
 
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return ProviderCapabilities.locatedIn(Country.TAIWAN);
+    }
+
     /**
      * Search Taiwan tech events by keyword.
      */
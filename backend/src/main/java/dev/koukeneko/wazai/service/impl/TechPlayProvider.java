@@ -2,6 +2,7 @@ package dev.koukeneko.wazai.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.koukeneko.wazai.config.ScraperProperties;
 import dev.koukeneko.wazai.dto.Coordinates;
 import dev.koukeneko.wazai.dto.WazaiEvent;
 import dev.koukeneko.wazai.dto.WazaiEvent.EventType;
@@ -9,26 +10,50 @@ import dev.koukeneko.wazai.dto.WazaiMapItem;
 import dev.koukeneko.wazai.dto.WazaiMapItem.Country;
 import dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
 import dev.koukeneko.wazai.service.ActivityProvider;
+import dev.koukeneko.wazai.service.ProviderCapabilities;
 import dev.koukeneko.wazai.service.GeocodingService;
+import dev.koukeneko.wazai.service.SharedListing;
+import dev.koukeneko.wazai.util.LogSampler;
 import dev.koukeneko.wazai.util.SearchHelper;
+import jakarta.annotation.PreDestroy;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -37,29 +62,93 @@ import java.util.stream.Collectors;
  * TechPlay is a Japanese IT event aggregation service.
  * This provider scrapes the event listing pages to get event URLs,
  * then fetches JSON-LD structured data from individual event pages.
+ *
+ * Crawls are incremental: every parsed event is remembered with the hash of its
+ * JSON-LD and the page's ETag / Last-Modified validators. Events seen recently are
+ * reused without a request, older ones are revalidated with a conditional GET, and
+ * only new or changed pages are parsed (and geocoded) again.
+ *
+ * Concurrent searches share one crawl through a {@link SharedListing}, whatever
+ * their keyword. Pages are fetched on the provider's own virtual-thread executor, bounded per stage
+ * by {@link ScraperProperties}; the shared upstream limiter paces requests to techplay.jp as a whole.
  */
 @Service
 public class TechPlayProvider implements ActivityProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(TechPlayProvider.class);
+
     private static final String PROVIDER_NAME = "TechPlay";
     private static final String EVENT_LIST_URL = "https://techplay.jp/event";
     private static final String ONLINE_INDICATOR = "オンライン";
     private static final int PAGES_TO_FETCH = 10;
-    private static final int CONNECTION_TIMEOUT_MS = 10000;
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; WazaiBot/1.0)";
+    private static final Duration REVALIDATE_AFTER = Duration.ofHours(6);
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final Duration LISTING_FRESHNESS = Duration.ofMinutes(10);
 
     private static final Map<String, Coordinates> JAPAN_AREA_COORDINATES = createJapanAreaCoordinates();
 
     private final ObjectMapper objectMapper;
+    private final RestClient restClient;
     private final GeocodingService geocodingService;
 
-    public TechPlayProvider(GeocodingService geocodingService) {
+    // Dedicated to this scraper so blocking page fetches never occupy the common pool
+    private final ExecutorService scraperExecutor;
+    private final Semaphore listingPermits;
+    private final Semaphore detailPermits;
+    private final SharedListing listing;
+    private final LogSampler eventFailures = new LogSampler(5, Duration.ofMinutes(1));
+
+    // Previous crawl results, replaced wholesale after each crawl; events keyed by "techplay-<id>"
+    private volatile Map<String, CrawledEvent> crawledEvents = Map.of();
+    private volatile Map<Integer, CrawledPage> crawledPages = Map.of();
+
+    /**
+     * A parsed event page and the validators needed to revalidate it.
+     *
+     * @param event the parsed event, or null if the page had no usable JSON-LD
+     */
+    private record CrawledEvent(
+            WazaiEvent event,
+            String contentHash,
+            String etag,
+            String lastModified,
+            Instant checkedAt
+    ) {}
+
+    private record CrawledPage(List<String> eventUrls, String etag, String lastModified) {}
+
+    /**
+     * A fetched page and its validators.
+     *
+     * @param document the parsed page, or null when the server answered 304 Not Modified
+     */
+    private record FetchedPage(Document document, String etag, String lastModified) {
+
+        boolean notModified() {
+            return document == null;
+        }
+    }
+
+    public TechPlayProvider(RestClient.Builder builder, GeocodingService geocodingService,
+                            ScraperProperties scraperProperties) {
         this.objectMapper = new ObjectMapper();
+        this.restClient = builder.defaultHeader(HttpHeaders.USER_AGENT, USER_AGENT).build();
         this.geocodingService = geocodingService;
+        this.scraperExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.listingPermits = new Semaphore(scraperProperties.listingConcurrency());
+        this.detailPermits = new Semaphore(scraperProperties.detailConcurrency());
+        this.listing = new SharedListing(PROVIDER_NAME, LISTING_FRESHNESS, this::fetchEvents);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scraperExecutor.shutdownNow();
     }
 
     @Override
     public List<WazaiMapItem> search(String keyword) {
-        List<WazaiMapItem> allEvents = fetchEvents();
+        List<WazaiMapItem> allEvents = listing.get();
 
         if (isEmptyKeyword(keyword)) {
             return allEvents;
@@ -70,114 +159,262 @@ public class TechPlayProvider implements ActivityProvider {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<WazaiMapItem> fetchListing() {
+        return listing.refresh();
+    }
+
     @Override
     public String getProviderName() {
         return PROVIDER_NAME;
     }
 
+    @Override
+    public ProviderCapabilities getCapabilities() {
+        return ProviderCapabilities.locatedIn(Country.JAPAN);
+    }
+
     private boolean isEmptyKeyword(String keyword) {
         return keyword == null || keyword.isBlank();
     }
 
+    /**
+     * Crawls listing pages and event pages as a pipeline on the scraper executor:
+     * each event page is fetched as soon as the listing page naming it has been read.
+     */
     private List<WazaiMapItem> fetchEvents() {
-        List<String> eventUrls = collectEventUrlsFromPages();
-        return fetchEventDetails(eventUrls);
+        long startNanos = System.nanoTime();
+        Map<Integer, CrawledPage> previousPages = crawledPages;
+        Map<String, CrawledEvent> previousEvents = crawledEvents;
+        Map<Integer, CrawledPage> pages = new ConcurrentHashMap<>();
+        Map<String, CrawledEvent> crawled = new ConcurrentHashMap<>();
+        Set<String> scheduledUrls = ConcurrentHashMap.newKeySet();
+
+        List<CompletableFuture<Void>> pageCrawls = new ArrayList<>(PAGES_TO_FETCH);
+        for (int page = 1; page <= PAGES_TO_FETCH; page++) {
+            int pageNumber = page;
+            CrawledPage previousPage = previousPages.get(pageNumber);
+            pageCrawls.add(CompletableFuture
+                    .supplyAsync(() -> fetchListingPage(pageNumber, previousPage), scraperExecutor)
+                    .thenCompose(crawledPage -> {
+                        if (crawledPage == null) {
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        pages.put(pageNumber, crawledPage);
+                        CompletableFuture<?>[] details = crawledPage.eventUrls().stream()
+                                .filter(scheduledUrls::add)
+                                .map(url -> CompletableFuture.runAsync(
+                                        () -> fetchEventDetail(url, previousEvents, crawled), scraperExecutor))
+                                .toArray(CompletableFuture[]::new);
+                        return CompletableFuture.allOf(details);
+                    }));
+        }
+        CompletableFuture.allOf(pageCrawls.toArray(CompletableFuture[]::new)).join();
+
+        // Events that dropped out of the listing are forgotten
+        crawledPages = Map.copyOf(pages);
+        crawledEvents = Map.copyOf(crawled);
+
+        logger.atInfo()
+                .addKeyValue("provider", PROVIDER_NAME)
+                .addKeyValue("pages", pages.size())
+                .addKeyValue("items", crawled.size())
+                .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .log("Crawled TechPlay events");
+
+        return crawled.values().stream()
+                .map(CrawledEvent::event)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Collects event URLs from multiple listing pages.
+     * Reads one listing page, falling back to the previous crawl's result on failure.
+     *
+     * @return the page, or null if it could not be read and was never read before
      */
-    private List<String> collectEventUrlsFromPages() {
-        List<String> urls = new ArrayList<>();
+    private CrawledPage fetchListingPage(int pageNumber, CrawledPage previous) {
+        try {
+            return withPermit(listingPermits, () -> scrapeEventUrlsFromPage(pageNumber, previous));
+        } catch (Exception e) {
+            logger.atWarn()
+                    .addKeyValue("provider", PROVIDER_NAME)
+                    .addKeyValue("page", pageNumber)
+                    .addKeyValue("outcome", "FAILED")
+                    .log("Could not fetch TechPlay listing page: {}", e.getMessage());
+            return previous;
+        }
+    }
 
-        for (int page = 1; page <= PAGES_TO_FETCH; page++) {
-            try {
-                List<String> pageUrls = scrapeEventUrlsFromPage(page);
-                urls.addAll(pageUrls);
-            } catch (IOException e) {
-                System.err.println("[TechPlay] Error fetching page " + page + ": " + e.getMessage());
+    /**
+     * Reads one event page into the crawl results, falling back to the previous crawl's result on failure.
+     */
+    private void fetchEventDetail(String url, Map<String, CrawledEvent> previousEvents,
+                                  Map<String, CrawledEvent> crawled) {
+        String eventId = "techplay-" + extractEventIdFromUrl(url);
+        CrawledEvent previous = previousEvents.get(eventId);
+        try {
+            crawled.put(eventId, fetchSingleEventDetail(url, previous));
+        } catch (Exception e) {
+            long suppressed = eventFailures.sample();
+            if (suppressed >= 0) {
+                logger.atWarn()
+                        .addKeyValue("provider", PROVIDER_NAME)
+                        .addKeyValue("url", url)
+                        .addKeyValue("outcome", "FAILED")
+                        .addKeyValue("suppressed", suppressed)
+                        .log("Could not fetch TechPlay event page: {}", e.getMessage());
+            }
+            if (previous != null) {
+                crawled.put(eventId, previous);
             }
         }
+    }
 
-        return urls;
+    /**
+     * Runs the request while holding a permit of its stage.
+     */
+    private <T> T withPermit(Semaphore stagePermits, Callable<T> request) throws Exception {
+        stagePermits.acquire();
+        try {
+            return request.call();
+        } finally {
+            stagePermits.release();
+        }
     }
 
     /**
-     * Scrapes event URLs from a single listing page.
+     * Scrapes event URLs from a single listing page, reusing the previous result
+     * if the server reports the page unchanged.
      */
-    private List<String> scrapeEventUrlsFromPage(int pageNumber) throws IOException {
+    private CrawledPage scrapeEventUrlsFromPage(int pageNumber, CrawledPage previous) throws IOException {
         String url = EVENT_LIST_URL + "?page=" + pageNumber;
 
-        Document doc = Jsoup.connect(url)
-                .timeout(CONNECTION_TIMEOUT_MS)
-                .userAgent("Mozilla/5.0 (compatible; WazaiBot/1.0)")
-                .get();
+        FetchedPage page = conditionalGet(url,
+                previous != null ? previous.etag() : null,
+                previous != null ? previous.lastModified() : null);
+        if (page.notModified()) {
+            return previous;
+        }
 
+        Document doc = page.document();
         Elements links = doc.select("a[href^=https://techplay.jp/event/]");
 
-        return links.stream()
+        List<String> eventUrls = links.stream()
                 .map(link -> link.attr("href"))
                 .filter(href -> href.matches("https://techplay.jp/event/\\d+"))
                 .distinct()
                 .collect(Collectors.toList());
+        return new CrawledPage(eventUrls, page.etag(), page.lastModified());
     }
 
     /**
-     * Fetches event details from individual event pages using JSON-LD.
+     * Fetches details for a single event from its page using JSON-LD structured data.
+     * Recently checked events are reused as is; older ones are revalidated, and the
+     * JSON-LD is only parsed again when its content hash changed.
+     * The detail permit only covers the request: parsing and geocoding run after it is
+     * released, so a slow geocoder never holds up the other page fetches.
      */
-    private List<WazaiMapItem> fetchEventDetails(List<String> eventUrls) {
-        Map<String, WazaiMapItem> eventMap = new ConcurrentHashMap<>();
+    private CrawledEvent fetchSingleEventDetail(String eventUrl, CrawledEvent previous) throws Exception {
+        Instant now = Instant.now();
+        if (previous != null && previous.checkedAt().plus(REVALIDATE_AFTER).isAfter(now)) {
+            return previous;
+        }
 
-        eventUrls.parallelStream().forEach(url -> {
-            try {
-                WazaiMapItem event = fetchSingleEventDetail(url);
-                if (event != null) {
-                    eventMap.put(event.id(), event);
-                }
-            } catch (Exception e) {
-                System.err.println("[TechPlay] Error fetching event " + url + ": " + e.getMessage());
-            }
-        });
+        FetchedPage page = withPermit(detailPermits, () -> conditionalGet(eventUrl,
+                previous != null ? previous.etag() : null,
+                previous != null ? previous.lastModified() : null));
+        String etag = page.etag();
+        String lastModified = page.lastModified();
+
+        if (page.notModified()) {
+            return new CrawledEvent(previous.event(), previous.contentHash(),
+                    etag != null ? etag : previous.etag(),
+                    lastModified != null ? lastModified : previous.lastModified(),
+                    now);
+        }
+
+        // Hash only the JSON-LD: the rest of the page carries per-request noise
+        Element jsonLdScript = page.document().selectFirst("script[type=application/ld+json]");
+        String jsonLdContent = jsonLdScript != null ? jsonLdScript.html() : "";
+        String contentHash = sha256(jsonLdContent);
 
-        return new ArrayList<>(eventMap.values());
+        if (previous != null && previous.contentHash().equals(contentHash)) {
+            return new CrawledEvent(previous.event(), contentHash, etag, lastModified, now);
+        }
+
+        WazaiEvent event = jsonLdScript != null
+                ? parseJsonLdEvent(objectMapper.readTree(jsonLdContent), eventUrl).join()
+                : null;
+        return new CrawledEvent(event, contentHash, etag, lastModified, now);
     }
 
     /**
-     * Fetches details for a single event from its page using JSON-LD structured data.
+     * GETs the page through the shared HTTP client, sending the previous validators so an
+     * unchanged page comes back as 304. The body is parsed straight from the response stream.
+     * A 304 is only accepted when validators were sent, so callers can rely on having a
+     * previous result whenever the page is not modified.
      */
-    private WazaiMapItem fetchSingleEventDetail(String eventUrl) throws IOException {
-        Document doc = Jsoup.connect(eventUrl)
-                .timeout(CONNECTION_TIMEOUT_MS)
-                .userAgent("Mozilla/5.0 (compatible; WazaiBot/1.0)")
-                .get();
-
-        Element jsonLdScript = doc.selectFirst("script[type=application/ld+json]");
-        if (jsonLdScript == null) {
-            return null;
+    private FetchedPage conditionalGet(String url, String etag, String lastModified) throws IOException {
+        try {
+            return restClient.get()
+                    .uri(URI.create(url))
+                    .headers(headers -> {
+                        if (etag != null) {
+                            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+                        }
+                        if (lastModified != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                        }
+                    })
+                    .exchange((request, response) -> {
+                        String newEtag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+                        String newLastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                        int status = response.getStatusCode().value();
+                        if (status == HTTP_NOT_MODIFIED && (etag != null || lastModified != null)) {
+                            return new FetchedPage(null, newEtag, newLastModified);
+                        }
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IOException("HTTP " + status + " fetching " + url);
+                        }
+                        MediaType contentType = response.getHeaders().getContentType();
+                        String charset = contentType != null && contentType.getCharset() != null
+                                ? contentType.getCharset().name()
+                                : null;
+                        Document document = Jsoup.parse(response.getBody(), charset, url);
+                        return new FetchedPage(document, newEtag, newLastModified);
+                    });
+        } catch (RestClientException e) {
+            throw e.getCause() instanceof IOException cause ? cause : new IOException("Failed to fetch " + url, e);
         }
+    }
 
-        String jsonLdContent = jsonLdScript.html();
-        JsonNode jsonLd = objectMapper.readTree(jsonLdContent);
-
-        return parseJsonLdEvent(jsonLd, eventUrl);
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
-     * Parses JSON-LD structured data into a WazaiMapItem.
+     * Parses JSON-LD structured data into a WazaiMapItem once its location is geocoded.
+     *
+     * @return future completed with the event, or with null if the page has no title
      */
-    private WazaiEvent parseJsonLdEvent(JsonNode jsonLd, String eventUrl) {
+    private CompletableFuture<WazaiEvent> parseJsonLdEvent(JsonNode jsonLd, String eventUrl) {
         String eventId = extractEventIdFromUrl(eventUrl);
         String title = getJsonText(jsonLd, "name");
+        if (title == null || title.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         String description = getJsonText(jsonLd, "description");
         LocalDateTime startTime = parseJsonLdDateTime(getJsonText(jsonLd, "startDate"));
         LocalDateTime endTime = parseJsonLdDateTime(getJsonText(jsonLd, "endDate"));
-        LocationInfo locationInfo = extractLocationInfo(jsonLd);
 
-        if (title == null || title.isBlank()) {
-            return null;
-        }
-
-        return new WazaiEvent(
+        return extractLocationInfo(jsonLd).thenApply(locationInfo -> new WazaiEvent(
                 "techplay-" + eventId,
                 title,
                 normalizeDescription(description),
@@ -189,7 +426,7 @@ public class TechPlayProvider implements ActivityProvider {
                 EventType.TECH_MEETUP,
                 DataSource.TECHPLAY,
                 Country.JAPAN
-        );
+        ));
     }
 
     private record LocationInfo(Coordinates coordinates, String address) {}
@@ -226,16 +463,16 @@ public class TechPlayProvider implements ActivityProvider {
      * Priority: address (local mapping + Nominatim) -> venue name (fallback)
      * Address is prioritized because it's more specific than venue name which can be ambiguous.
      */
-    private LocationInfo extractLocationInfo(JsonNode jsonLd) {
+    private CompletableFuture<LocationInfo> extractLocationInfo(JsonNode jsonLd) {
         JsonNode location = jsonLd.get("location");
         if (location == null) {
-            return new LocationInfo(Coordinates.tokyo(), null);
+            return CompletableFuture.completedFuture(new LocationInfo(Coordinates.tokyo(), null));
         }
 
         // Check for VirtualLocation (online event)
         String locationType = getJsonText(location, "@type");
         if ("VirtualLocation".equals(locationType)) {
-            return new LocationInfo(Coordinates.tokyo(), ONLINE_INDICATOR);
+            return CompletableFuture.completedFuture(new LocationInfo(Coordinates.tokyo(), ONLINE_INDICATOR));
         }
 
         // Extract venue name and address
@@ -245,24 +482,21 @@ public class TechPlayProvider implements ActivityProvider {
 
         // Skip geocoding for online events
         if (venueName != null && venueName.contains(ONLINE_INDICATOR)) {
-            return new LocationInfo(Coordinates.tokyo(), ONLINE_INDICATOR);
+            return CompletableFuture.completedFuture(new LocationInfo(Coordinates.tokyo(), ONLINE_INDICATOR));
         }
 
         // First try address-based geocoding (more accurate than venue name)
         if (addressText != null && !addressText.isBlank()) {
-            Coordinates coords = geocodeAddress(addressText);
-            return new LocationInfo(coords, displayAddress);
+            return geocodeAddress(addressText).thenApply(coords -> new LocationInfo(coords, displayAddress));
         }
 
         // Fall back to venue name via Nominatim
         if (venueName != null && !venueName.isBlank()) {
-            var venueCoords = geocodingService.geocode(venueName);
-            if (venueCoords.isPresent()) {
-                return new LocationInfo(venueCoords.get(), displayAddress);
-            }
+            return geocodingService.geocodeAsync(venueName)
+                    .thenApply(venueCoords -> new LocationInfo(venueCoords.orElse(Coordinates.tokyo()), displayAddress));
         }
 
-        return new LocationInfo(Coordinates.tokyo(), displayAddress);
+        return CompletableFuture.completedFuture(new LocationInfo(Coordinates.tokyo(), displayAddress));
     }
 
     private String extractAddressText(JsonNode location) {
@@ -295,22 +529,24 @@ public class TechPlayProvider implements ActivityProvider {
      * Maps Japanese addresses to coordinates.
      * First tries Nominatim for precise geocoding, then falls back to local mapping.
      */
-    private Coordinates geocodeAddress(String address) {
+    private CompletableFuture<Coordinates> geocodeAddress(String address) {
         if (address == null || address.isBlank()) {
-            return Coordinates.tokyo();
+            return CompletableFuture.completedFuture(Coordinates.tokyo());
         }
 
         if (address.contains(ONLINE_INDICATOR)) {
-            return Coordinates.tokyo();
+            return CompletableFuture.completedFuture(Coordinates.tokyo());
         }
 
         // Try Nominatim first for precise geocoding
-        var nominatimResult = geocodingService.geocode(address);
-        if (nominatimResult.isPresent()) {
-            return nominatimResult.get();
-        }
+        return geocodingService.geocodeAsync(address)
+                .thenApply(nominatimResult -> nominatimResult.orElseGet(() -> mapJapanArea(address)));
+    }
 
-        // Fall back to local mapping (less precise, but reliable)
+    /**
+     * Local mapping of Japanese areas (less precise, but reliable).
+     */
+    private Coordinates mapJapanArea(String address) {
         for (Map.Entry<String, Coordinates> entry : JAPAN_AREA_COORDINATES.entrySet()) {
             if (address.contains(entry.getKey())) {
                 return entry.getValue();
@@ -0,0 +1,145 @@
+package dev.koukeneko.wazai.service.metrics;
+
+import dev.koukeneko.wazai.dto.CacheStats;
+import dev.koukeneko.wazai.dto.ProviderStatus;
+import dev.koukeneko.wazai.dto.ProviderStatus.Outcome;
+import dev.koukeneko.wazai.service.cache.QueryResultCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+/**
+ * Meters of the search path: whole searches, each provider's part in them, catalog
+ * refreshes and the result cache. Timers and result counts publish histograms, so
+ * percentiles can be aggregated across instances on the Prometheus side.
+ *
+ * Provider outcomes other than OK and SKIPPED are also counted as failures; SKIPPED
+ * means the request deadline cut the provider off and says nothing about the provider.
+ */
+@Component
+public class SearchMetrics {
+
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+
+    public SearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records one aggregated search.
+     *
+     * @param live how the live providers were answered: "none", "cache" or "fanout"
+     * @param elapsedNanos time the search took
+     * @param resultCount items in the full result, before paging
+     */
+    public void recordSearch(String live, long elapsedNanos, int resultCount) {
+        timer("wazai.search", "Aggregated search latency", "live", live)
+                .record(Duration.ofNanos(elapsedNanos));
+        results("wazai.search.results", "Items per aggregated search", "live", live)
+                .record(resultCount);
+    }
+
+    /**
+     * Records a live call to a provider, however it ended.
+     */
+    public void recordProviderCall(ProviderStatus status, long elapsedNanos) {
+        Timer.builder("wazai.provider.call")
+                .description("Live provider call latency")
+                .tag("provider", status.provider())
+                .tag("outcome", status.outcome().name())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry)
+                .record(Duration.ofNanos(elapsedNanos));
+        if (status.outcome() != Outcome.OK && status.outcome() != Outcome.SKIPPED) {
+            registry.counter("wazai.provider.failures",
+                    "provider", status.provider(), "outcome", status.outcome().name()).increment();
+        }
+        if (status.outcome() == Outcome.OK) {
+            recordProviderResults(status.provider(), "live", status.itemCount());
+        }
+    }
+
+    /**
+     * Records how many items a provider contributed to a search.
+     *
+     * @param source where the items came from: "live", "cache" or "catalog"
+     */
+    public void recordProviderResults(String provider, String source, int itemCount) {
+        DistributionSummary.builder("wazai.provider.results")
+                .description("Items per provider per search")
+                .tag("provider", provider)
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(itemCount);
+    }
+
+    /**
+     * Records one catalog refresh of a provider.
+     */
+    public void recordCatalogRefresh(String provider, boolean succeeded, long elapsedNanos, int itemCount) {
+        timer("wazai.catalog.refresh", "Catalog refresh latency",
+                "provider", provider, "outcome", succeeded ? "OK" : "FAILED")
+                .record(Duration.ofNanos(elapsedNanos));
+        if (succeeded) {
+            results("wazai.catalog.items", "Items per catalog refresh", "provider", provider)
+                    .record(itemCount);
+        }
+    }
+
+    /**
+     * Publishes a cache's counters, read from its statistics whenever they are scraped.
+     * The meters only hold a weak reference to the cache.
+     *
+     * @param name name used as the {@code cache} tag
+     * @param cache the cache to observe
+     */
+    public void bindCache(String name, QueryResultCache<?, ?> cache) {
+        cacheRequests(name, "hit", cache, CacheStats::hits);
+        cacheRequests(name, "stale_hit", cache, CacheStats::staleHits);
+        cacheRequests(name, "miss", cache, CacheStats::misses);
+        Gauge.builder("wazai.cache.size", cache, c -> c.stats().size())
+                .description("Entries currently cached")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("wazai.cache.hit.ratio", cache, c -> c.stats().hitRatio())
+                .description("Share of lookups answered from the cache since startup")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private void cacheRequests(String name, String result, QueryResultCache<?, ?> cache,
+                               ToLongFunction<CacheStats> counter) {
+        FunctionCounter.builder("wazai.cache.requests", cache, c -> counter.applyAsLong(c.stats()))
+                .description("Cache lookups by result")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry);
+    }
+
+    private DistributionSummary results(String name, String description, String... tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.koukeneko.wazai.service.resilience;
+
+/**
+ * Gradient-style concurrency limit for one upstream host.
+ *
+ * A long-term average of the response time stands in for the latency without queueing.
+ * Each sample compares it with the latest response time: while they match the limit grows
+ * by a small queue allowance, and as the upstream slows down the ratio, bounded to
+ * [0.5, 1], shrinks the limit in proportion. Throttling answers halve the limit outright.
+ * Samples taken while less than half the limit is in use say nothing about the limit and
+ * are only used for the average.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double THROTTLED_BACKOFF = 0.5;
+    private static final int LONG_WINDOW = 100;
+    private static final double DRIFT_RATIO = 2.0;
+    private static final double DRIFT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double longRttNanos;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * @return requests that may currently be in flight
+     */
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Records the response time of a request that was answered normally.
+     *
+     * @param rttNanos time from sending the request to receiving the response
+     * @param inFlight requests in flight when it was sent, itself included
+     */
+    synchronized void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+        if (longRttNanos / rttNanos > DRIFT_RATIO) {
+            // The upstream got lastingly faster: let the baseline catch up
+            longRttNanos *= DRIFT_DECAY;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    /**
+     * Records an answer telling us to slow down, e.g. 429 Too Many Requests.
+     */
+    synchronized void onThrottled() {
+        limit = clamp(limit * THROTTLED_BACKOFF);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
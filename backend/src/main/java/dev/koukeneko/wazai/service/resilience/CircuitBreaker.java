@@ -0,0 +1,197 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.BreakerStatus;
+import dev.koukeneko.wazai.dto.BreakerStatus.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker and adaptive timeout for one provider.
+ *
+ * The outcomes and latencies of the most recent calls are kept in fixed-size ring buffers.
+ * Once enough calls are recorded and the failure rate reaches the threshold, the breaker
+ * opens and rejects calls outright, so a provider that is down costs no latency. After the
+ * open duration a single probe is let through: success closes the breaker with a fresh
+ * window, failure opens it again.
+ *
+ * While closed, the timeout follows the provider's observed latency percentile with some
+ * headroom, capped at the configured budget. Latencies are forgotten when the breaker
+ * opens, so a recovered provider starts again from the full budget.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final SearchProperties.Breaker settings;
+
+    private final boolean[] failures;
+    private final long[] latencies;
+    private int outcomeCount;
+    private int nextOutcome;
+    private int failureCount;
+    private int latencyCount;
+    private int nextLatency;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String name, SearchProperties.Breaker settings) {
+        this.name = name;
+        this.settings = settings;
+        this.failures = new boolean[settings.windowSize()];
+        this.latencies = new long[settings.windowSize()];
+    }
+
+    /**
+     * Asks permission for one call. Every permitted call must be reported through exactly
+     * one of {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     *
+     * @return false if the call should be rejected without contacting the provider
+     */
+    public synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAtNanos < settings.openDuration().toNanos()) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                logger.info("Circuit for {} half-open, probing", name);
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Records a call that returned in time.
+     */
+    public synchronized void onSuccess(long latencyNanos) {
+        if (state == State.OPEN) {
+            // A call permitted before the breaker opened
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            resetWindow();
+            state = State.CLOSED;
+            logger.info("Circuit for {} closed", name);
+        }
+        recordOutcome(false);
+        latencies[nextLatency] = latencyNanos;
+        nextLatency = (nextLatency + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+    }
+
+    /**
+     * Records a call that threw or exceeded its timeout.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        recordOutcome(true);
+        if (outcomeCount >= settings.minimumCalls()
+                && (double) failureCount / outcomeCount >= settings.failureRateThreshold()) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a permitted call whose outcome says nothing about the provider,
+     * e.g. one cut off by the request deadline or abandoned by its callers.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Time budget for the next call.
+     *
+     * @param budget the configured budget, which is never exceeded
+     * @return the adaptive timeout while closed with enough samples, otherwise the budget
+     */
+    public synchronized Duration timeout(Duration budget) {
+        long percentile = latencyPercentileNanos();
+        if (state != State.CLOSED || percentile < 0) {
+            return budget;
+        }
+        long adaptive = Math.max((long) (percentile * settings.timeoutMultiplier()), settings.minTimeout().toNanos());
+        return Duration.ofNanos(Math.min(adaptive, budget.toNanos()));
+    }
+
+    public synchronized BreakerStatus status(Duration budget) {
+        long percentile = latencyPercentileNanos();
+        long retryInNanos = state == State.OPEN
+                ? Math.max(0, settings.openDuration().toNanos() - (System.nanoTime() - openedAtNanos))
+                : 0;
+        return new BreakerStatus(
+                name,
+                state,
+                outcomeCount == 0 ? 0 : (double) failureCount / outcomeCount,
+                outcomeCount,
+                percentile < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(percentile),
+                timeout(budget).toMillis(),
+                TimeUnit.NANOSECONDS.toMillis(retryInNanos)
+        );
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        resetWindow();
+        latencyCount = 0;
+        nextLatency = 0;
+        logger.warn("Circuit for {} opened for {}", name, settings.openDuration());
+    }
+
+    private void recordOutcome(boolean failed) {
+        if (outcomeCount == failures.length && failures[nextOutcome]) {
+            failureCount--;
+        }
+        failures[nextOutcome] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        nextOutcome = (nextOutcome + 1) % failures.length;
+        outcomeCount = Math.min(outcomeCount + 1, failures.length);
+    }
+
+    private void resetWindow() {
+        Arrays.fill(failures, false);
+        outcomeCount = 0;
+        nextOutcome = 0;
+        failureCount = 0;
+    }
+
+    private long latencyPercentileNanos() {
+        if (latencyCount < settings.minimumCalls()) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(settings.timeoutPercentile() * latencyCount) - 1;
+        return sorted[Math.max(0, Math.min(index, latencyCount - 1))];
+    }
+}
@@ -0,0 +1,53 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.BreakerStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breakers of the live providers, created on first use and keyed by provider name.
+ * Each breaker's state is published as {@code wazai.provider.circuit.state}:
+ * 0 closed, 1 open, 2 half-open.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final SearchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(SearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CircuitBreaker forProvider(String providerName) {
+        return breakers.computeIfAbsent(providerName, this::create);
+    }
+
+    private CircuitBreaker create(String providerName) {
+        CircuitBreaker breaker = new CircuitBreaker(providerName, properties.breaker());
+        Gauge.builder("wazai.provider.circuit.state", breaker,
+                        b -> b.status(properties.budgetFor(providerName)).state().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    /**
+     * @return the state of every breaker created so far, ordered by provider name
+     */
+    public List<BreakerStatus> statuses() {
+        return breakers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().status(properties.budgetFor(entry.getKey())))
+                .toList();
+    }
+}
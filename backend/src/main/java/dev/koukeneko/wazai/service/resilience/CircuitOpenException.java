@@ -0,0 +1,11 @@
+package dev.koukeneko.wazai.service.resilience;
+
+/**
+ * Signals that a call was rejected because the provider's circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String providerName) {
+        super("Circuit for " + providerName + " is open");
+    }
+}
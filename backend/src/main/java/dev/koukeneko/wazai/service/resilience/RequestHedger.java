@@ -0,0 +1,151 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.HedgingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends hedged requests to one upstream API.
+ *
+ * Each call starts one attempt. If it has not answered by the upstream's observed latency
+ * percentile, and the hedge budget has a credit left, a second attempt is started; the
+ * first successful answer is returned and the other attempt is interrupted. A call only
+ * fails once every attempt has failed. Only use it for idempotent requests.
+ *
+ * The budget earns {@code maxHedgeRatio} credits per call up to {@code maxBurst}, and each
+ * hedge spends one, so hedging cannot multiply load while the upstream is slow or down.
+ */
+public final class RequestHedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+
+    private static final int LATENCY_WINDOW = 100;
+
+    private final String name;
+    private final HedgingProperties settings;
+    private final ExecutorService executor;
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int nextLatency;
+    private double credits;
+    private long hedgesSent;
+
+    RequestHedger(String name, HedgingProperties settings, ExecutorService executor) {
+        this.name = name;
+        this.settings = settings;
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the request, hedging it once if it is slow.
+     *
+     * @param request blocking, idempotent upstream call
+     * @return the first successful answer
+     * @throws RuntimeException the failure of the last attempt when every attempt failed
+     */
+    public <T> T call(Supplier<T> request) {
+        if (!settings.enabled()) {
+            return request.get();
+        }
+        long hedgeDelay = hedgeDelayNanos();
+        if (hedgeDelay < 0) {
+            // Still learning the latency: run on the caller's thread
+            long startNanos = System.nanoTime();
+            T result = request.get();
+            recordLatency(System.nanoTime() - startNanos);
+            return result;
+        }
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        Future<?> primary = executor.submit(() -> attempt(request, winner, running));
+        Future<?> hedge = null;
+
+        try {
+            try {
+                return winner.get(hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (!winner.isDone() && tryAcquireHedge()) {
+                    running.incrementAndGet();
+                    hedge = executor.submit(() -> attempt(request, winner, running));
+                    logger.debug("[{}] Hedging request after {} ms", name, TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+                }
+            }
+            return winner.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for " + name);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @return hedges sent since startup
+     */
+    public synchronized long hedgesSent() {
+        return hedgesSent;
+    }
+
+    private <T> void attempt(Supplier<T> request, CompletableFuture<T> winner, AtomicInteger running) {
+        long startNanos = System.nanoTime();
+        try {
+            T result = request.get();
+            recordLatency(System.nanoTime() - startNanos);
+            winner.complete(result);
+        } catch (Throwable e) {
+            // The other attempt may still answer
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(e);
+            }
+        }
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[nextLatency] = latencyNanos;
+        nextLatency = (nextLatency + 1) % LATENCY_WINDOW;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+    }
+
+    /**
+     * Earns this call's share of credit and returns how long to wait before hedging,
+     * or -1 while too few latencies have been observed.
+     */
+    private synchronized long hedgeDelayNanos() {
+        credits = Math.min(settings.maxBurst(), credits + settings.maxHedgeRatio());
+        if (latencyCount < Math.min(settings.minSamples(), LATENCY_WINDOW)) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(settings.percentile() * latencyCount) - 1;
+        long percentile = sorted[Math.max(0, Math.min(index, latencyCount - 1))];
+        return Math.max(percentile, settings.minDelay().toNanos());
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (credits < 1) {
+            return false;
+        }
+        credits--;
+        hedgesSent++;
+        return true;
+    }
+}
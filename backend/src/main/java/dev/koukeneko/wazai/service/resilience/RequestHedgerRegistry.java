@@ -0,0 +1,48 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.HedgingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Request hedgers of the upstream APIs, keyed by upstream name. Attempts run on virtual threads,
+ * and the hedges each one sent are published as {@code wazai.upstream.hedges}.
+ */
+@Component
+public class RequestHedgerRegistry {
+
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, RequestHedger> hedgers = new ConcurrentHashMap<>();
+
+    public RequestHedgerRegistry(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RequestHedger forUpstream(String upstreamName) {
+        return hedgers.computeIfAbsent(upstreamName, this::create);
+    }
+
+    private RequestHedger create(String upstreamName) {
+        RequestHedger hedger = new RequestHedger(upstreamName, properties, executor);
+        FunctionCounter.builder("wazai.upstream.hedges", hedger, RequestHedger::hedgesSent)
+                .description("Hedged requests sent")
+                .tag("upstream", upstreamName)
+                .register(meterRegistry);
+        return hedger;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
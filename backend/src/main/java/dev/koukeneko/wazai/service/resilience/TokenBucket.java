@@ -0,0 +1,44 @@
+package dev.koukeneko.wazai.service.resilience;
+
+/**
+ * Token bucket that hands out reservations instead of blocking.
+ *
+ * Each reservation takes one token, going into debt when the bucket is empty; the
+ * caller is told how long to wait until its token has been earned, and can wait
+ * however suits it, e.g. with a scheduled completion instead of a sleeping thread.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(double tokensPerSecond, int capacity) {
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return nanoseconds until the token is earned, 0 if it was available
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = now;
+        tokens--;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Gives back the token of a reservation that was abandoned before it was used.
+     */
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.koukeneko.wazai.service.resilience;
+
+/**
+ * Signals that a request was rejected because too many requests to its host were
+ * already waiting for the host's limiter.
+ */
+public class UpstreamLimitExceededException extends RuntimeException {
+
+    public UpstreamLimitExceededException(String host) {
+        super("Too many requests queued for " + host);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.UpstreamLimitProperties;
+import dev.koukeneko.wazai.service.resilience.UpstreamLimiter.Permit;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Puts every request of the shared RestClient and WebClient through its host's
+ * {@link UpstreamLimiter}.
+ *
+ * WebClient requests wait for their permit without holding a thread; RestClient requests
+ * wait on their own (virtual) thread. The slot is released once the response headers
+ * arrive, and 429 or 503 answers count as throttling.
+ */
+@Component
+public class UpstreamLimitInterceptor implements ClientHttpRequestInterceptor, ExchangeFilterFunction {
+
+    private final UpstreamLimitProperties properties;
+    private final UpstreamLimiterRegistry limiters;
+
+    public UpstreamLimitInterceptor(UpstreamLimitProperties properties, UpstreamLimiterRegistry limiters) {
+        this.properties = properties;
+        this.limiters = limiters;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!properties.isEnabled() || request.getURI().getHost() == null) {
+            return execution.execute(request, body);
+        }
+        Permit permit = await(limiters.forHost(request.getURI().getHost()).acquire());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            permit.releaseAnswered(isThrottled(response.getStatusCode()));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            permit.releaseIgnored();
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!properties.isEnabled() || request.url().getHost() == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<Permit> pending = limiters.forHost(request.url().getHost()).acquire();
+            return Mono.fromFuture(pending, true)
+                    .doOnCancel(() -> abandon(pending))
+                    .flatMap(permit -> next.exchange(request)
+                            .doOnNext(response -> permit.releaseAnswered(isThrottled(response.statusCode())))
+                            .doOnError(e -> permit.releaseIgnored())
+                            .doOnCancel(permit::releaseIgnored));
+        });
+    }
+
+    private static Permit await(CompletableFuture<Permit> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            abandon(pending);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upstream slot");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Gives up a permit request, releasing the permit if it was granted in the meantime.
+     */
+    private static void abandon(CompletableFuture<Permit> pending) {
+        if (!pending.cancel(false) && !pending.isCompletedExceptionally()) {
+            pending.join().releaseIgnored();
+        }
+    }
+
+    private static boolean isThrottled(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+}
@@ -0,0 +1,173 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.UpstreamLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rate and concurrency limiter for one upstream host.
+ *
+ * A request first takes a slot under the {@link AdaptiveConcurrencyLimit}, queueing if
+ * none is free, then a token from the {@link TokenBucket}. Neither step blocks: the
+ * returned future completes once both are granted, so reactive callers compose on it and
+ * blocking callers simply wait for it. Every granted {@link Permit} must be released
+ * exactly once, which hands the slot to the next queued request.
+ */
+public final class UpstreamLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamLimiter.class);
+
+    private final String host;
+    private final int maxQueued;
+    private final TokenBucket tokens;
+    private final AdaptiveConcurrencyLimit concurrency;
+
+    private final Deque<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    UpstreamLimiter(String host, UpstreamLimitProperties.Limits limits) {
+        this.host = host;
+        this.maxQueued = limits.maxQueued();
+        this.tokens = new TokenBucket(limits.requestsPerSecond(), limits.burst());
+        this.concurrency = new AdaptiveConcurrencyLimit(
+                limits.initialConcurrency(), limits.minConcurrency(), limits.maxConcurrency());
+    }
+
+    /**
+     * Asks for permission to send one request. Cancelling the future while it waits
+     * gives up its place in the queue, or its slot and token if it already holds them.
+     *
+     * @return a future completed with the permit once the request may be sent, or failed
+     *         with {@link UpstreamLimitExceededException} when the queue is full
+     */
+    public CompletableFuture<Permit> acquire() {
+        CompletableFuture<Permit> granted = new CompletableFuture<>();
+        synchronized (this) {
+            if (inFlight < concurrency.limit()) {
+                inFlight++;
+            } else {
+                waiting.removeIf(CompletableFuture::isDone);
+                if (waiting.size() >= maxQueued) {
+                    return CompletableFuture.failedFuture(new UpstreamLimitExceededException(host));
+                }
+                waiting.add(granted);
+                return granted;
+            }
+        }
+        grant(granted);
+        return granted;
+    }
+
+    /**
+     * @return current adaptive concurrency limit
+     */
+    public int concurrencyLimit() {
+        return concurrency.limit();
+    }
+
+    /**
+     * @return requests currently holding a slot
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Completes a request that holds a slot once its token has been earned.
+     */
+    private void grant(CompletableFuture<Permit> granted) {
+        long waitNanos = tokens.reserve();
+        granted.whenComplete((permit, failure) -> {
+            if (failure != null) {
+                // Cancelled before the permit was handed out
+                tokens.refund();
+                releaseSlot();
+            }
+        });
+        if (waitNanos == 0) {
+            complete(granted);
+        } else {
+            CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> complete(granted));
+        }
+    }
+
+    private void complete(CompletableFuture<Permit> granted) {
+        int inFlightAtStart;
+        synchronized (this) {
+            inFlightAtStart = inFlight;
+        }
+        granted.complete(new Permit(inFlightAtStart));
+    }
+
+    /**
+     * Frees a slot and admits as many queued requests as the current limit allows.
+     */
+    private void releaseSlot() {
+        List<CompletableFuture<Permit>> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < concurrency.limit()) {
+                CompletableFuture<Permit> next = waiting.poll();
+                if (next == null) {
+                    break;
+                }
+                if (!next.isDone()) {
+                    inFlight++;
+                    admitted.add(next);
+                }
+            }
+        }
+        admitted.forEach(this::grant);
+    }
+
+    /**
+     * Permission to send one request. The response time is measured from the moment
+     * the permit was granted.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the slot after the upstream answered.
+         *
+         * @param throttled whether the answer asked us to slow down (429, 503)
+         */
+        public void releaseAnswered(boolean throttled) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (throttled) {
+                concurrency.onThrottled();
+                logger.warn("{} is throttling requests, concurrency limit now {}", host, concurrency.limit());
+            } else {
+                concurrency.onSample(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+            releaseSlot();
+        }
+
+        /**
+         * Releases the slot of a request that failed or was cancelled, which says
+         * nothing about the upstream's latency.
+         */
+        public void releaseIgnored() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+    }
+}
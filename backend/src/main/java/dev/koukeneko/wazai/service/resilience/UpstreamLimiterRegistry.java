@@ -0,0 +1,43 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.UpstreamLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate and concurrency limiters of the upstream hosts, created on first use and keyed by host name.
+ * Each limiter's adaptive limit and in-flight requests are published as gauges.
+ */
+@Component
+public class UpstreamLimiterRegistry {
+
+    private final UpstreamLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, UpstreamLimiter> limiters = new ConcurrentHashMap<>();
+
+    public UpstreamLimiterRegistry(UpstreamLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public UpstreamLimiter forHost(String host) {
+        return limiters.computeIfAbsent(host, this::create);
+    }
+
+    private UpstreamLimiter create(String host) {
+        UpstreamLimiter limiter = new UpstreamLimiter(host, properties.limitsFor(host));
+        Gauge.builder("wazai.upstream.concurrency.limit", limiter, UpstreamLimiter::concurrencyLimit)
+                .description("Adaptive concurrency limit")
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("wazai.upstream.in.flight", limiter, UpstreamLimiter::inFlight)
+                .description("Requests holding a concurrency slot")
+                .tag("host", host)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
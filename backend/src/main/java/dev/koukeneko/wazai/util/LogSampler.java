@@ -0,0 +1,52 @@
+package dev.koukeneko.wazai.util;
+
+import java.time.Duration;
+
+/**
+ * Caps how often a per-item log line is written.
+ *
+ * The first {@code maxPerInterval} events of every interval are logged, the rest are
+ * dropped and counted, and the count is handed to the next event that gets logged, so a
+ * crawl where every page fails writes a handful of lines instead of one per page.
+ */
+public final class LogSampler {
+
+    private final int maxPerInterval;
+    private final long intervalNanos;
+
+    private long windowStartNanos;
+    private int loggedInWindow;
+    private long suppressed;
+
+    /**
+     * @param maxPerInterval events logged per interval
+     * @param interval length of the sampling window
+     */
+    public LogSampler(int maxPerInterval, Duration interval) {
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.windowStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Decides whether the current event is logged.
+     *
+     * @return -1 if the event should be dropped, otherwise the number of events dropped
+     *         since the last one that was logged
+     */
+    public synchronized long sample() {
+        long now = System.nanoTime();
+        if (now - windowStartNanos >= intervalNanos) {
+            windowStartNanos = now;
+            loggedInWindow = 0;
+        }
+        if (loggedInWindow >= maxPerInterval) {
+            suppressed++;
+            return -1;
+        }
+        loggedInWindow++;
+        long dropped = suppressed;
+        suppressed = 0;
+        return dropped;
+    }
+}
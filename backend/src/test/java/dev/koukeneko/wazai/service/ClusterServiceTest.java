@@ -0,0 +1,84 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.MapCluster;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.service.catalog.ClusterIndex;
+import dev.koukeneko.wazai.service.catalog.EventCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterServiceTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-90, -180, 90, 180);
+    private static final BoundingBox AROUND_TOKYO = new BoundingBox(35, 139, 36, 140.5);
+
+    private static final Coordinates TOKYO = new Coordinates(35.68, 139.77);
+    private static final Coordinates OSAKA = new Coordinates(34.69, 135.50);
+
+    private final EventCatalog catalog = new EventCatalog();
+    private final ClusterService service = new ClusterService(catalog);
+
+    @Test
+    void cellsOfDifferentProvidersAreMerged() {
+        catalog.publish("Connpass", List.of(event("connpass-1", TOKYO, DataSource.CONNPASS)));
+        catalog.publish("Doorkeeper", List.of(event("doorkeeper-1", OSAKA, DataSource.DOORKEEPER)));
+
+        List<MapCluster> clusters = service.clusters(WORLD, 0, "ALL");
+
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).count());
+        assertEquals(Set.of("connpass-1", "doorkeeper-1"),
+                clusters.get(0).items().stream().map(WazaiMapItem::id).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void clusterWhoseCentroidIsOutsideTheBoxIsLeftOut() {
+        catalog.publish("Connpass", List.of(
+                event("connpass-1", TOKYO, DataSource.CONNPASS),
+                event("connpass-2", OSAKA, DataSource.CONNPASS)));
+
+        // Zoomed out, Tokyo and Osaka share a cell whose centroid lies west of the box
+        assertTrue(service.clusters(AROUND_TOKYO, 0, "ALL").isEmpty());
+
+        List<MapCluster> zoomedIn = service.clusters(AROUND_TOKYO, 10, "ALL");
+        assertEquals(1, zoomedIn.size());
+        assertEquals(TOKYO, zoomedIn.get(0).coordinates());
+    }
+
+    @Test
+    void zoomOutsideThePrecomputedRangeIsClamped() {
+        catalog.publish("Connpass", List.of(event("connpass-1", TOKYO, DataSource.CONNPASS)));
+
+        assertEquals(service.clusters(WORLD, 0, "ALL"), service.clusters(WORLD, -3, "ALL"));
+        assertEquals(service.clusters(WORLD, ClusterIndex.MAX_ZOOM, "ALL"), service.clusters(WORLD, 30, "ALL"));
+        assertTrue(service.clusters(WORLD, 30, "ALL").get(0).id().startsWith(ClusterIndex.MAX_ZOOM + "/"));
+    }
+
+    private static WazaiEvent event(String id, Coordinates coordinates, DataSource source) {
+        return new WazaiEvent(
+                id,
+                id,
+                null,
+                "https://example.com/" + id,
+                coordinates,
+                null,
+                LocalDateTime.of(2026, 1, 1, 19, 0),
+                EventType.TECH_MEETUP,
+                source,
+                Country.JAPAN
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.PageCursor;
+import dev.koukeneko.wazai.dto.SearchQuery;
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultOrderingTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 1, 19, 0);
+
+    private static final List<WazaiMapItem> ITEMS = List.of(
+            event("connpass-5", START.plusDays(5)),
+            event("connpass-1", START.plusDays(1)),
+            event("connpass-3", START.plusDays(3)),
+            event("connpass-4", START.plusDays(3)),
+            event("connpass-2", START.plusDays(2)),
+            event("connpass-6", null)
+    );
+
+    @Test
+    void pagesConcatenateToTheFullSort() {
+        List<WazaiMapItem> expected = ResultOrdering.sort(ITEMS, query(null, null, SortOrder.START_TIME));
+
+        List<WazaiMapItem> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResultOrdering.Page page = ResultOrdering.page(ITEMS, query(4, cursor, SortOrder.DEFAULT));
+            assertEquals(ITEMS.size(), page.totalItems());
+            paged.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void cursorSkipsItemsAddedBeforeItAfterARefresh() {
+        ResultOrdering.Page first = ResultOrdering.page(ITEMS, query(2, null, SortOrder.START_TIME));
+
+        List<WazaiMapItem> refreshed = new ArrayList<>(ITEMS);
+        refreshed.add(event("doorkeeper-7", START));
+        ResultOrdering.Page second = ResultOrdering.page(refreshed, query(2, first.nextCursor(), SortOrder.START_TIME));
+
+        assertEquals(List.of("connpass-3", "connpass-4"), second.items().stream().map(WazaiMapItem::id).toList());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        ResultOrdering.Page page = ResultOrdering.page(ITEMS, query(ITEMS.size(), null, SortOrder.START_TIME));
+
+        assertEquals(ITEMS.size(), page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    private static SearchQuery query(Integer limit, String cursor, SortOrder sort) {
+        PageCursor pageCursor = cursor != null ? PageCursor.decode(cursor) : null;
+        return new SearchQuery(null, "ALL", "ALL", null, null, sort, limit, pageCursor);
+    }
+
+    private static WazaiEvent event(String id, LocalDateTime start) {
+        return new WazaiEvent(id, id, null, "https://connpass.com/event/" + id, null, null,
+                start, EventType.TECH_MEETUP, DataSource.CONNPASS, Country.JAPAN);
+    }
+}
@@ -0,0 +1,49 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SharedListingTest {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final SharedListing listing = new SharedListing("AWS", Duration.ofHours(1), () -> {
+        int fetch = fetches.incrementAndGet();
+        return List.of(event("aws-" + fetch));
+    });
+
+    @Test
+    void searchesReuseAFreshListing() {
+        listing.get();
+        listing.get();
+
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void refreshFetchesAgainWhileTheListingIsFresh() {
+        listing.get();
+
+        List<WazaiMapItem> refreshed = listing.refresh();
+
+        assertEquals(2, fetches.get());
+        assertEquals("aws-2", refreshed.getFirst().id());
+        assertEquals(refreshed, listing.get());
+    }
+
+    private static WazaiEvent event(String id) {
+        return new WazaiEvent(id, id, null, "https://aws.amazon.com/events/" + id, Coordinates.tokyo(), null,
+                LocalDateTime.of(2026, 11, 1, 9, 0), EventType.TECH_CONFERENCE, DataSource.AWS_EVENTS, Country.JAPAN);
+    }
+}
@@ -0,0 +1,212 @@
+package dev.koukeneko.wazai.service;
+
+import dev.koukeneko.wazai.config.HedgingProperties;
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.DateRange;
+import dev.koukeneko.wazai.dto.PageCursor;
+import dev.koukeneko.wazai.dto.SearchQuery;
+import dev.koukeneko.wazai.dto.SearchQuery.SortOrder;
+import dev.koukeneko.wazai.dto.SearchResult;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.service.ActivityProvider.IngestionMode;
+import dev.koukeneko.wazai.service.catalog.EventCatalog;
+import dev.koukeneko.wazai.service.impl.DoorkeeperProvider;
+import dev.koukeneko.wazai.service.metrics.SearchMetrics;
+import dev.koukeneko.wazai.service.resilience.CircuitBreakerRegistry;
+import dev.koukeneko.wazai.service.resilience.RequestHedgerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WazaiSearchServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 1, 19, 0);
+
+    private final EventCatalog catalog = new EventCatalog();
+    private final RecordingProvider provider = new RecordingProvider();
+    private final WazaiSearchService service = service(List.of(provider));
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void doorkeeperOnlyIngestsItsBrowseListing() {
+        DoorkeeperProvider doorkeeper = new DoorkeeperProvider(RestClient.builder(),
+                new RequestHedgerRegistry(new HedgingProperties(null, null, null, null, null, null), new SimpleMeterRegistry()));
+
+        assertEquals(IngestionMode.CATALOG_BROWSE_ONLY, doorkeeper.getIngestionMode());
+    }
+
+    @Test
+    void keywordQueryReachesBrowseOnlyProviderWithWarmCatalog() {
+        catalog.publish(provider.getProviderName(), List.of(event("doorkeeper-1", "Latest meetup")));
+
+        SearchResult result = service.search(SearchQuery.of("kotlin", "JP", "ALL"));
+
+        assertEquals(1, provider.queries.size());
+        assertEquals("kotlin", provider.queries.getFirst().keyword());
+        assertEquals(List.of("doorkeeper-2"), result.items().stream().map(WazaiMapItem::id).toList());
+    }
+
+    @Test
+    void keywordlessQueryIsServedFromTheCatalog() {
+        catalog.publish(provider.getProviderName(), List.of(event("doorkeeper-1", "Latest meetup")));
+
+        SearchResult result = service.search(SearchQuery.of(null, "JP", "ALL"));
+
+        assertTrue(provider.queries.isEmpty());
+        assertEquals(List.of("doorkeeper-1"), result.items().stream().map(WazaiMapItem::id).toList());
+    }
+
+    @Test
+    void queryWithoutCountrySearchesEveryProvider() {
+        SearchResult result = service.search(SearchQuery.of("kotlin", null, "ALL"));
+
+        assertEquals(1, result.items().size());
+    }
+
+    @Test
+    void firstPagePushesDownThePageAndOneLookaheadItem() {
+        provider.inStartTimeOrder = true;
+
+        service.search(new SearchQuery("kotlin", "ALL", "ALL", null, null, SortOrder.START_TIME, 20, null));
+
+        assertEquals(21, provider.queries.getFirst().limit());
+    }
+
+    @Test
+    void providerInItsOwnOrderIsAskedForEverything() {
+        service.search(new SearchQuery("kotlin", "ALL", "ALL", null, null, SortOrder.START_TIME, 20, null));
+
+        assertNull(provider.queries.getFirst().limit());
+    }
+
+    @Test
+    void sortedResultIsPagedAcrossTheFullUpstreamResult() {
+        provider.results = List.of(
+                event("doorkeeper-3", "Kotlin night", START.plusDays(3)),
+                event("doorkeeper-1", "Kotlin morning", START.plusDays(1)),
+                event("doorkeeper-4", "Kotlin weekend", START.plusDays(4)),
+                event("doorkeeper-2", "Kotlin lunch", START.plusDays(2)));
+
+        SearchResult first = service.search(new SearchQuery("kotlin", "ALL", "ALL", null, null,
+                SortOrder.START_TIME, 2, null));
+        SearchResult second = service.search(new SearchQuery("kotlin", "ALL", "ALL", null, null,
+                SortOrder.START_TIME, 2, PageCursor.decode(first.nextCursor())));
+
+        assertEquals(List.of("doorkeeper-1", "doorkeeper-2"), first.items().stream().map(WazaiMapItem::id).toList());
+        assertEquals(4, first.totalItems());
+        assertEquals(List.of("doorkeeper-3", "doorkeeper-4"), second.items().stream().map(WazaiMapItem::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void unpagedQueryPushesDownNoLimit() {
+        service.search(SearchQuery.of("kotlin", "ALL", "ALL"));
+
+        assertNull(provider.queries.getFirst().limit());
+    }
+
+    @Test
+    void rangeTheProviderCannotExpressKeepsTheCatalogPath() {
+        catalog.publish(provider.getProviderName(), List.of(event("doorkeeper-1", "Latest meetup")));
+        DateRange openEnded = new DateRange(LocalDate.of(2026, 10, 1), null);
+
+        SearchResult result = service.search(new SearchQuery(null, "ALL", "ALL", null, openEnded, null, null, null));
+
+        assertTrue(provider.queries.isEmpty());
+        assertEquals(1, result.items().size());
+    }
+
+    @Test
+    void rangeTheProviderCanExpressIsSearchedUpstream() {
+        catalog.publish(provider.getProviderName(), List.of(event("doorkeeper-1", "Latest meetup")));
+        DateRange november = new DateRange(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 30));
+
+        service.search(new SearchQuery(null, "ALL", "ALL", null, november, null, null, null));
+
+        assertEquals(november, provider.queries.getFirst().dates());
+    }
+
+    private WazaiSearchService service(List<ActivityProvider> providers) {
+        SearchProperties properties = new SearchProperties(null, null, null, null, null, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new WazaiSearchService(providers, catalog, properties,
+                new CircuitBreakerRegistry(properties, registry), new SearchMetrics(registry));
+    }
+
+    private static WazaiEvent event(String id, String title) {
+        return event(id, title, START);
+    }
+
+    private static WazaiEvent event(String id, String title, LocalDateTime start) {
+        return new WazaiEvent(id, title, null, "https://example.doorkeeper.jp/events/" + id, Coordinates.tokyo(), null,
+                start, EventType.TECH_MEETUP, DataSource.DOORKEEPER, Country.JAPAN);
+    }
+
+    /**
+     * Browse-only provider in Japan that pushes down keywords, closed date ranges and limits,
+     * and records every query it receives. It returns results in its own order unless told
+     * that they come by start time.
+     */
+    private static final class RecordingProvider implements ActivityProvider {
+
+        final List<ProviderQuery> queries = new CopyOnWriteArrayList<>();
+        volatile List<WazaiMapItem> results = List.of(event("doorkeeper-2", "Kotlin meetup"));
+        volatile boolean inStartTimeOrder;
+
+        @Override
+        public List<WazaiMapItem> search(String keyword) {
+            return search(ProviderQuery.keyword(keyword));
+        }
+
+        @Override
+        public List<WazaiMapItem> search(ProviderQuery query) {
+            queries.add(query);
+            return results;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "Recording";
+        }
+
+        @Override
+        public ProviderCapabilities getCapabilities() {
+            return new ProviderCapabilities(Set.of(Country.JAPAN), true, true, true);
+        }
+
+        @Override
+        public boolean canFilterByDates(DateRange dates) {
+            return dates != null && dates.from() != null && dates.to() != null;
+        }
+
+        @Override
+        public boolean returnsInOrder(SortOrder order) {
+            return inStartTimeOrder && order == SortOrder.START_TIME;
+        }
+
+        @Override
+        public IngestionMode getIngestionMode() {
+            return IngestionMode.CATALOG_BROWSE_ONLY;
+        }
+    }
+}
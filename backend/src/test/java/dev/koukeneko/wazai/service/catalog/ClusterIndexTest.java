@@ -0,0 +1,133 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.BoundingBox;
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.service.catalog.ClusterIndex.Cell;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterIndexTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-90, -180, 90, 180);
+
+    private static final Coordinates TOKYO = new Coordinates(35.68, 139.77);
+    private static final Coordinates OSAKA = new Coordinates(34.69, 135.50);
+    private static final Coordinates TAIPEI = new Coordinates(25.03, 121.56);
+
+    private static final List<WazaiMapItem> ITEMS = List.of(
+            event("tokyo", TOKYO, Country.JAPAN, 3),
+            event("osaka", OSAKA, Country.JAPAN, 1),
+            event("taipei", TAIPEI, Country.TAIWAN, 2)
+    );
+
+    @Test
+    void nearbyCitiesShareACellWhenZoomedOut() {
+        List<Cell> cells = collect(ClusterIndex.build(ITEMS), 0, WORLD, null);
+
+        assertEquals(2, cells.size());
+        Cell japan = cells.get(0);
+        assertEquals(2, japan.count());
+        assertCentroid((TOKYO.latitude() + OSAKA.latitude()) / 2, (TOKYO.longitude() + OSAKA.longitude()) / 2, japan);
+        assertEquals(List.of("osaka", "tokyo"), ids(japan));
+        Cell taiwan = cells.get(1);
+        assertEquals(1, taiwan.count());
+        assertCentroid(TAIPEI.latitude(), TAIPEI.longitude(), taiwan);
+    }
+
+    @Test
+    void everyCityHasItsOwnCellWhenZoomedIn() {
+        List<Cell> cells = collect(ClusterIndex.build(ITEMS), 10, WORLD, null);
+
+        assertEquals(3, cells.size());
+        assertTrue(cells.stream().allMatch(cell -> cell.count() == 1 && cell.zoom() == 10));
+        assertCentroid(TOKYO.latitude(), TOKYO.longitude(), cellOf("tokyo", cells));
+        assertCentroid(OSAKA.latitude(), OSAKA.longitude(), cellOf("osaka", cells));
+    }
+
+    @Test
+    void onlyCellsInsideTheBoxAreCollected() {
+        BoundingBox aroundTokyo = new BoundingBox(35, 139, 36, 140.5);
+
+        List<Cell> cells = collect(ClusterIndex.build(ITEMS), 10, aroundTokyo, null);
+
+        assertEquals(1, cells.size());
+        assertEquals(List.of("tokyo"), ids(cells.get(0)));
+    }
+
+    @Test
+    void countryFilterKeepsOtherCountriesOut() {
+        List<Cell> cells = collect(ClusterIndex.build(ITEMS), 0, WORLD, Country.TAIWAN);
+
+        assertEquals(1, cells.size());
+        assertEquals(List.of("taipei"), ids(cells.get(0)));
+    }
+
+    @Test
+    void itemsWithoutCoordinatesAreSkipped() {
+        List<Cell> cells = collect(ClusterIndex.build(List.of(event("online", null, Country.JAPAN, 1))), 0, WORLD, null);
+
+        assertTrue(cells.isEmpty());
+    }
+
+    @Test
+    void zoomIsClampedToThePrecomputedRange() {
+        assertEquals(0, ClusterIndex.clampZoom(-3));
+        assertEquals(ClusterIndex.MAX_ZOOM, ClusterIndex.clampZoom(30));
+
+        List<Cell> cells = collect(ClusterIndex.build(ITEMS), 30, WORLD, null);
+
+        assertTrue(cells.stream().allMatch(cell -> cell.zoom() == ClusterIndex.MAX_ZOOM));
+    }
+
+    /**
+     * @return the collected cells, largest first
+     */
+    private static List<Cell> collect(ClusterIndex index, int zoom, BoundingBox box, Country country) {
+        Map<Long, Cell> cells = new HashMap<>();
+        index.collect(zoom, box, country, cells);
+        return cells.values().stream()
+                .sorted(Comparator.comparingInt(Cell::count).reversed())
+                .toList();
+    }
+
+    private static Cell cellOf(String id, List<Cell> cells) {
+        return cells.stream().filter(cell -> ids(cell).contains(id)).findFirst().orElseThrow();
+    }
+
+    private static List<String> ids(Cell cell) {
+        return cell.representatives().stream().map(WazaiMapItem::id).toList();
+    }
+
+    private static void assertCentroid(double latitude, double longitude, Cell cell) {
+        assertEquals(latitude, cell.centroid().latitude(), 1e-9);
+        assertEquals(longitude, cell.centroid().longitude(), 1e-9);
+    }
+
+    private static WazaiEvent event(String id, Coordinates coordinates, Country country, int day) {
+        return new WazaiEvent(
+                id,
+                id,
+                null,
+                "https://example.com/" + id,
+                coordinates,
+                null,
+                LocalDateTime.of(2026, 1, day, 19, 0),
+                EventType.TECH_MEETUP,
+                DataSource.CONNPASS,
+                country
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package dev.koukeneko.wazai.service.catalog;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import dev.koukeneko.wazai.util.SearchHelper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordIndexTest {
+
+    private static final List<WazaiMapItem> ITEMS = List.of(
+            event("connpass-1", "Python勉強会 #42", "初心者向けのPython入門"),
+            event("techplay-2", "JavaScript Meetup Tokyo", "React / Vue.js talks"),
+            event("doorkeeper-3", "Java Users Group", "Spring Boot 4.0 deep dive"),
+            event("gdg-4", "DevFest Taipei 2026", "台灣開源社群年度聚會"),
+            event("coscup-2026", "COSCUP 2026", "開源人年會：オープンソース"),
+            event("aws-summit-5", "AWS Summit Tokyo", null),
+            event("meetup-6", "サーバーレス勉強会", "AWS Lambda ハンズオン")
+    );
+
+    private static final List<String> QUERIES = List.of(
+            "python", "PYTHON", "java", "ava", "script", "vue.js", ".js", "spring boot",
+            "4.0", "2026", "devfest taipei", "勉強会", "勉強", "会", "開源", "源人",
+            "オープンソース", "サーバー", "ー", "python勉強会", "n勉", "#42", "-", " ",
+            "connpass-1", "pass-", "summit", "lambda ハンズ", "rust", "開發"
+    );
+
+    @Test
+    void searchMatchesLinearScanForEveryQuery() {
+        KeywordIndex index = KeywordIndex.build(ITEMS);
+
+        for (String query : QUERIES) {
+            List<WazaiMapItem> expected = ITEMS.stream()
+                    .filter(item -> SearchHelper.matchesKeyword(item, query))
+                    .toList();
+            assertEquals(expected, index.search(query), "query: '" + query + "'");
+        }
+    }
+
+    @Test
+    void blankKeywordReturnsEveryItem() {
+        KeywordIndex index = KeywordIndex.build(ITEMS);
+
+        assertEquals(ITEMS, index.search(null));
+        assertEquals(ITEMS, index.search(""));
+    }
+
+    private static WazaiEvent event(String id, String title, String description) {
+        return new WazaiEvent(
+                id,
+                title,
+                description,
+                "https://example.com/" + id,
+                Coordinates.tokyo(),
+                null,
+                LocalDateTime.of(2026, 1, 1, 19, 0),
+                EventType.TECH_MEETUP,
+                DataSource.CONNPASS,
+                Country.JAPAN
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package dev.koukeneko.wazai.service.dedupe;
+
+import dev.koukeneko.wazai.dto.Coordinates;
+import dev.koukeneko.wazai.dto.WazaiEvent;
+import dev.koukeneko.wazai.dto.WazaiEvent.SourceLink;
+import dev.koukeneko.wazai.dto.WazaiMapItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static dev.koukeneko.wazai.dto.WazaiEvent.EventType;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.Country;
+import static dev.koukeneko.wazai.dto.WazaiMapItem.DataSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventDeduplicatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 14, 19, 0);
+    private static final Coordinates SHIBUYA = new Coordinates(35.6580, 139.7016);
+
+    private final EventDeduplicator deduplicator = new EventDeduplicator(0.5, Duration.ofHours(2), 15);
+
+    @Test
+    void mergesListingsOfTheSameEventAcrossProviders() {
+        WazaiEvent connpass = event("connpass-1", "【オンライン】Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+        WazaiEvent doorkeeper = event("doorkeeper-9", "Python 勉強会 #42", START.plusMinutes(30), null, DataSource.DOORKEEPER);
+        WazaiEvent other = event("techplay-3", "Rust Meetup Tokyo", START, SHIBUYA, DataSource.TECHPLAY);
+
+        List<WazaiMapItem> merged = deduplicator.merge(List.of(connpass, other, doorkeeper));
+
+        assertEquals(2, merged.size());
+        WazaiEvent canonical = (WazaiEvent) merged.getFirst();
+        assertEquals("connpass-1", canonical.id());
+        assertEquals(List.of(new SourceLink(DataSource.DOORKEEPER, "doorkeeper-9", doorkeeper.url())),
+                canonical.otherSources());
+        assertSame(other, merged.get(1));
+    }
+
+    @Test
+    void keepsEventsThatStartFarApartOrAreFarAway() {
+        WazaiEvent first = event("connpass-1", "Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+        WazaiEvent nextWeek = event("doorkeeper-2", "Python勉強会 #42", START.plusDays(7), SHIBUYA, DataSource.DOORKEEPER);
+        WazaiEvent osaka = event("techplay-3", "Python勉強会 #42", START, new Coordinates(34.6937, 135.5023), DataSource.TECHPLAY);
+
+        List<WazaiMapItem> items = List.of(first, nextWeek, osaka);
+
+        assertEquals(items, deduplicator.merge(items));
+    }
+
+    @Test
+    void neverMergesTwoListingsOfTheSameProvider() {
+        WazaiEvent first = event("connpass-1", "Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+        WazaiEvent second = event("connpass-2", "Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+
+        List<WazaiMapItem> items = List.of(first, second);
+
+        assertEquals(items, deduplicator.merge(items));
+    }
+
+    @Test
+    void indexedCatalogMergesLiveListingsIntoItsEvents() {
+        WazaiEvent connpass = event("connpass-1", "【オンライン】Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+        WazaiEvent other = event("techplay-3", "Rust Meetup Tokyo", START, SHIBUYA, DataSource.TECHPLAY);
+        WazaiEvent doorkeeper = event("doorkeeper-9", "Python 勉強会 #42", START.plusMinutes(30), null, DataSource.DOORKEEPER);
+        EventDeduplicator.Index catalog = deduplicator.index(List.of(connpass, other));
+
+        List<WazaiMapItem> merged = catalog.merge(List.of(connpass, other, doorkeeper));
+
+        assertEquals(deduplicator.merge(List.of(connpass, other, doorkeeper)), merged);
+    }
+
+    @Test
+    void indexedCatalogKeepsItsClustersAndMergesLiveListingsWithEachOther() {
+        WazaiEvent connpass = event("connpass-1", "Python勉強会 #42", START, SHIBUYA, DataSource.CONNPASS);
+        WazaiEvent techplay = event("techplay-3", "Python勉強会 #42", START, null, DataSource.TECHPLAY);
+        WazaiEvent rust = event("doorkeeper-4", "Rust Meetup Tokyo", START, SHIBUYA, DataSource.DOORKEEPER);
+        WazaiEvent rustAgain = event("connpass-5", "Rust Meetup Tokyo", START, null, DataSource.CONNPASS);
+        EventDeduplicator.Index catalog = deduplicator.index(List.of(connpass, techplay));
+
+        List<WazaiMapItem> merged = catalog.merge(List.of(techplay, rust, rustAgain));
+
+        assertEquals(List.of("connpass-1", "doorkeeper-4"), merged.stream().map(WazaiMapItem::id).toList());
+        assertEquals(List.of(new SourceLink(DataSource.TECHPLAY, "techplay-3", techplay.url())),
+                ((WazaiEvent) merged.getFirst()).otherSources());
+    }
+
+    private static WazaiEvent event(String id, String title, LocalDateTime start,
+                                    Coordinates coordinates, DataSource source) {
+        return new WazaiEvent(id, title, null, "https://example.com/" + id, coordinates, null,
+                start, EventType.TECH_MEETUP, source, Country.JAPAN);
+    }
+}
@@ -0,0 +1,124 @@
+package dev.koukeneko.wazai.service.impl;
+
+import dev.koukeneko.wazai.dto.external.gdg.GdgChapterInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GdgChapterRegistryTest {
+
+    private final List<GdgChapterInfo> upstream = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> loaderThreads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void unknownChapterTriggersOneReload() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ZERO)) {
+            registry.start();
+            upstream.add(chapter(2L));
+
+            GdgChapterRegistry.Snapshot snapshot = registry.resolve(Set.of(1L, 2L));
+
+            assertTrue(snapshot.contains(2L));
+            assertEquals(2, loads.get());
+        }
+    }
+
+    @Test
+    void chapterStillUnknownAfterReloadIsNotAskedForAgain() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ZERO)) {
+            registry.start();
+
+            assertFalse(registry.resolve(Set.of(3L)).contains(3L));
+            registry.resolve(Set.of(3L));
+
+            assertEquals(2, loads.get());
+        }
+    }
+
+    @Test
+    void failedReloadKeepsThePreviousSnapshot() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ZERO)) {
+            registry.start();
+            GdgChapterRegistry.Snapshot loaded = registry.snapshot();
+            upstream.clear();
+
+            assertSame(loaded, registry.resolve(Set.of(2L)));
+            assertTrue(registry.snapshot().contains(1L));
+        }
+    }
+
+    @Test
+    void secondStartDoesNotReloadAgain() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ofHours(1))) {
+            registry.start();
+            registry.start();
+
+            assertEquals(1, loads.get());
+        }
+    }
+
+    @Test
+    void reloadsForUnknownChaptersAreRateLimited() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ofHours(1))) {
+            registry.start();
+            upstream.add(chapter(2L));
+
+            assertFalse(registry.resolve(Set.of(2L)).contains(2L));
+            assertEquals(1, loads.get());
+        }
+    }
+
+    @Test
+    void reloadsBeforeTheFirstRebuildAreRateLimited() {
+        try (GdgChapterRegistry registry = registry(Duration.ofHours(1))) {
+            registry.start();
+
+            registry.resolve(Set.of(1L));
+            registry.resolve(Set.of(2L));
+
+            assertEquals(2, loads.get());
+        }
+    }
+
+    @Test
+    void reloadForUnknownChaptersRunsOnTheRegistryThread() {
+        upstream.add(chapter(1L));
+        try (GdgChapterRegistry registry = registry(Duration.ZERO)) {
+            registry.start();
+            upstream.add(chapter(2L));
+
+            registry.resolve(Set.of(2L));
+
+            assertEquals(List.of("gdg-chapters", "gdg-chapters"), loaderThreads);
+        }
+    }
+
+    private GdgChapterRegistry registry(Duration missRefreshInterval) {
+        return new GdgChapterRegistry(() -> {
+            loads.incrementAndGet();
+            loaderThreads.add(Thread.currentThread().getName());
+            return List.copyOf(upstream);
+        }, Duration.ofHours(6), Duration.ofMinutes(5), missRefreshInterval);
+    }
+
+    private static GdgChapterInfo chapter(long id) {
+        return new GdgChapterInfo(true, "Taipei", "TW", id, false, 25.0, 121.5,
+                null, null, null, "GDG " + id, null, null);
+    }
+}
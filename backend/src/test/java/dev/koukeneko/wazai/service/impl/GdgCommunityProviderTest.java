@@ -0,0 +1,151 @@
+package dev.koukeneko.wazai.service.impl;
+
+import dev.koukeneko.wazai.config.HedgingProperties;
+import dev.koukeneko.wazai.dto.external.gdg.GdgEvent;
+import dev.koukeneko.wazai.service.resilience.RequestHedgerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GdgCommunityProviderTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final Set<Integer> requestedPages = new ConcurrentSkipListSet<>();
+    private GdgCommunityProvider provider;
+
+    @AfterEach
+    void shutdown() {
+        provider.shutdown();
+    }
+
+    @Test
+    void reportedCountFetchesEveryRemainingPage() {
+        provider(page -> page(page, PAGE_SIZE, 120, false));
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(Set.of(1, 2, 3), requestedPages);
+        assertEquals(150, events.size());
+    }
+
+    @Test
+    void reportedCountIsCappedAtTwentyPages() {
+        provider(page -> page(page, PAGE_SIZE, 5000, false));
+
+        provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 20), requestedPages);
+    }
+
+    @Test
+    void withoutCountPagesAreReadInBatchesOfFourUntilAShortPage() {
+        provider(page -> page < 7 ? page(page, PAGE_SIZE, null, true) : page(page, 10, null, false));
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 9), requestedPages);
+        assertEquals(6 * PAGE_SIZE + 3 * 10, events.size());
+    }
+
+    @Test
+    void shortFirstPageWithoutNextIsTheOnlyPage() {
+        provider(page -> page(page, 10, null, false));
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(Set.of(1), requestedPages);
+        assertEquals(10, events.size());
+    }
+
+    @Test
+    void fullPageWithoutNextStillAsksForMore() {
+        provider(page -> page == 1 ? page(page, PAGE_SIZE, null, false) : page(page, 0, null, false));
+
+        provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 5), requestedPages);
+    }
+
+    @Test
+    void failedPageIsSkippedWithoutEndingPaging() {
+        provider(page -> page == 3 ? null : page < 8 ? page(page, PAGE_SIZE, null, true) : page(page, 0, null, false));
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 9), requestedPages);
+        assertEquals(6 * PAGE_SIZE, events.size());
+    }
+
+    @Test
+    void batchOfFailedPagesEndsPaging() {
+        provider(page -> page == 1 ? page(page, PAGE_SIZE, null, true) : null);
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 5), requestedPages);
+        assertEquals(PAGE_SIZE, events.size());
+    }
+
+    @Test
+    void pagingWithoutCountStopsAtTwentyPages() {
+        provider(page -> page(page, PAGE_SIZE, null, true));
+
+        List<GdgEvent> events = provider.fetchCountryEvents("JP");
+
+        assertEquals(pages(1, 20), requestedPages);
+        assertEquals(20 * PAGE_SIZE, events.size());
+    }
+
+    /**
+     * Serves the search endpoint from {@code pages}; a null page answers with a server error.
+     */
+    private void provider(IntFunction<String> pages) {
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            String page = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("page");
+            int pageNumber = Integer.parseInt(page);
+            requestedPages.add(pageNumber);
+            String body = pages.apply(pageNumber);
+            if (body == null) {
+                return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        RequestHedgerRegistry hedgers = new RequestHedgerRegistry(
+                new HedgingProperties(false, null, null, null, null, null), new SimpleMeterRegistry());
+        provider = new GdgCommunityProvider(webClient, hedgers);
+    }
+
+    private static String page(int page, int size, Integer count, boolean next) {
+        String results = IntStream.range(0, size)
+                .mapToObj(i -> "{\"id\":" + (page * 1000 + i) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        return "{\"results\":" + results
+                + ",\"count\":" + count
+                + ",\"next\":" + (next ? "\"https://gdg.community.dev/api/search/?page=" + (page + 1) + "\"" : null)
+                + "}";
+    }
+
+    private static Set<Integer> pages(int from, int to) {
+        return IntStream.rangeClosed(from, to).boxed().collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,65 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.SearchProperties;
+import dev.koukeneko.wazai.dto.BreakerStatus.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Duration BUDGET = Duration.ofSeconds(5);
+
+    @Test
+    void opensOnceTheFailureRateIsReachedAndRejectsCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+        breaker.onSuccess(Duration.ofMillis(100).toNanos());
+        breaker.onSuccess(Duration.ofMillis(100).toNanos());
+        breaker.onFailure();
+        assertEquals(State.CLOSED, breaker.status(BUDGET).state());
+
+        breaker.onFailure();
+        assertEquals(State.OPEN, breaker.status(BUDGET).state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void probeClosesOrReopensTheBreaker() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only one probe at a time");
+        breaker.onFailure();
+        assertEquals(State.OPEN, breaker.status(BUDGET).state());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess(Duration.ofMillis(100).toNanos());
+        assertEquals(State.CLOSED, breaker.status(BUDGET).state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void timeoutFollowsObservedLatencyWithinBounds() {
+        CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+        assertEquals(BUDGET, breaker.timeout(BUDGET));
+
+        breaker.onSuccess(Duration.ofMillis(800).toNanos());
+        breaker.onSuccess(Duration.ofMillis(900).toNanos());
+        assertEquals(Duration.ofMillis(1800), breaker.timeout(BUDGET));
+
+        breaker.onSuccess(Duration.ofSeconds(4).toNanos());
+        assertEquals(BUDGET, breaker.timeout(BUDGET));
+    }
+
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker("Test", new SearchProperties.Breaker(
+                0.5, 4, 2, openDuration, 0.95, 2.0, Duration.ofMillis(500)));
+    }
+}
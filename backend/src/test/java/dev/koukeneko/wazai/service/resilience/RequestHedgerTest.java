@@ -0,0 +1,70 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.HedgingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowAttemptIsOvertakenByTheHedge() {
+        RequestHedger hedger = hedger(1.0);
+        learnLatency(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? sleep(Duration.ofSeconds(5), "slow") : "fast");
+
+        assertEquals("fast", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, hedger.hedgesSent());
+    }
+
+    @Test
+    void noHedgeWithoutBudget() {
+        RequestHedger hedger = hedger(0.0);
+        learnLatency(hedger);
+
+        String result = hedger.call(() -> sleep(Duration.ofMillis(200), "slow"));
+
+        assertEquals("slow", result);
+        assertEquals(0, hedger.hedgesSent());
+    }
+
+    private RequestHedger hedger(double maxHedgeRatio) {
+        HedgingProperties settings = new HedgingProperties(true, 0.95, 3, Duration.ofMillis(20), maxHedgeRatio, 5);
+        return new RequestHedger("Test", settings, executor);
+    }
+
+    private static void learnLatency(RequestHedger hedger) {
+        Supplier<String> fast = () -> "fast";
+        for (int i = 0; i < 3; i++) {
+            hedger.call(fast);
+        }
+    }
+
+    private static String sleep(Duration duration, String result) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
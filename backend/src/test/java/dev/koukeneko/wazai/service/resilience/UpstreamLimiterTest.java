@@ -0,0 +1,100 @@
+package dev.koukeneko.wazai.service.resilience;
+
+import dev.koukeneko.wazai.config.UpstreamLimitProperties;
+import dev.koukeneko.wazai.service.resilience.UpstreamLimiter.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamLimiterTest {
+
+    @Test
+    void queuesBeyondTheConcurrencyLimitAndHandsOverOnRelease() {
+        UpstreamLimiter limiter = limiter(1000.0, 2, 2);
+
+        Permit first = limiter.acquire().join();
+        limiter.acquire().join();
+        CompletableFuture<Permit> third = limiter.acquire();
+        CompletableFuture<Permit> fourth = limiter.acquire();
+        assertFalse(third.isDone());
+
+        first.releaseIgnored();
+        third.join();
+        assertFalse(fourth.isDone());
+        assertFalse(limiter.acquire().isDone());
+        assertTrue(limiter.acquire().isCompletedExceptionally(), "queue of two is full");
+    }
+
+    @Test
+    void cancelledWaiterGivesUpItsPlace() {
+        UpstreamLimiter limiter = limiter(1000.0, 1, 10);
+
+        Permit first = limiter.acquire().join();
+        CompletableFuture<Permit> cancelled = limiter.acquire();
+        CompletableFuture<Permit> next = limiter.acquire();
+        cancelled.cancel(false);
+
+        first.releaseIgnored();
+        next.join();
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void tokenBucketSpacesRequestsWithoutBlockingTheCaller() {
+        UpstreamLimiter limiter = limiter(10.0, 10, 10);
+
+        limiter.acquire().join().releaseIgnored();
+        long startNanos = System.nanoTime();
+        CompletableFuture<Permit> second = limiter.acquire();
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).toMillis() < 50);
+        assertFalse(second.isDone());
+
+        second.join();
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).toMillis() >= 50);
+    }
+
+    @Test
+    void cancelledWaiterHandsBackItsToken() {
+        UpstreamLimiter limiter = limiter(10.0, 10, 10);
+
+        limiter.acquire().join().releaseIgnored();
+        CompletableFuture<Permit> cancelled = limiter.acquire();
+        cancelled.cancel(false);
+        long startNanos = System.nanoTime();
+
+        limiter.acquire().join();
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).toMillis() < 150,
+                "waits for one token, not two");
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void concurrencyLimitShrinksWhenLatencyRisesAndHalvesWhenThrottled() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        long baseline = Duration.ofMillis(100).toNanos();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(baseline, limit.limit());
+        }
+        int settled = limit.limit();
+        assertTrue(settled > 20, "grows while latency is flat");
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(baseline * 4, limit.limit());
+        }
+        assertTrue(limit.limit() < settled, "shrinks as latency rises");
+
+        int beforeThrottle = limit.limit();
+        limit.onThrottled();
+        assertEquals(Math.max(1, beforeThrottle / 2), limit.limit(), 1);
+    }
+
+    private static UpstreamLimiter limiter(double requestsPerSecond, int concurrency, int maxQueued) {
+        return new UpstreamLimiter("test.example", new UpstreamLimitProperties.Limits(
+                requestsPerSecond, 1, concurrency, concurrency, concurrency, maxQueued));
+    }
+}
@@ -0,0 +1,33 @@
+package dev.koukeneko.wazai.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSamplerTest {
+
+    @Test
+    void dropsEventsBeyondTheLimitOfAnInterval() {
+        LogSampler sampler = new LogSampler(2, Duration.ofHours(1));
+
+        assertEquals(0, sampler.sample());
+        assertEquals(0, sampler.sample());
+        assertEquals(-1, sampler.sample());
+        assertEquals(-1, sampler.sample());
+    }
+
+    @Test
+    void reportsDroppedEventsWithTheNextLoggedOne() throws InterruptedException {
+        LogSampler sampler = new LogSampler(1, Duration.ofMillis(50));
+
+        assertEquals(0, sampler.sample());
+        assertEquals(-1, sampler.sample());
+        assertEquals(-1, sampler.sample());
+        Thread.sleep(60);
+
+        assertEquals(2, sampler.sample());
+        assertEquals(-1, sampler.sample());
+    }
+}
@@ -1,9 +1,8 @@
-import { useState } from 'react';
-import useSWR from 'swr';
+import { useEffect, useState } from 'react';
 import { Sidebar } from '@/components/Sidebar';
 import { MapComponent } from '@/components/Map';
 import { DetailPanel } from '@/components/DetailPanel';
-import { searchEvents } from '@/services/api';
+import { streamSearchEvents } from '@/services/api';
 import type { SearchParams, WazaiMapItem } from '@/types/api';
 import { ThemeProvider } from "@/components/theme-provider"
 
@@ -14,18 +13,45 @@ function App() {
     provider: 'ALL'
   });
   const [selectedEvent, setSelectedEvent] = useState<WazaiMapItem | null>(null);
+  const [events, setEvents] = useState<WazaiMapItem[]>([]);
+  const [isLoading, setIsLoading] = useState(true);
+  const [searchFailed, setSearchFailed] = useState(false);
 
-  const { data: events = [], isLoading } = useSWR(
-    ['/api/search', searchParams], 
-    ([, params]) => searchEvents(params),
-    {
-      keepPreviousData: true,
-      revalidateOnFocus: false
-    }
-  );
+  // Show each provider's items as they arrive, then the merged result once all are done;
+  // the previous results stay until the first batch
+  useEffect(() => {
+    const controller = new AbortController();
+    let received: WazaiMapItem[] | null = null;
+
+    streamSearchEvents(searchParams, (batch) => {
+      received = [...(received ?? []), ...batch.items];
+      setEvents(received);
+    }, controller.signal)
+      .then((completion) => {
+        setEvents(completion.items);
+      })
+      .catch((error: unknown) => {
+        if (error instanceof DOMException && error.name === 'AbortError') {
+          return; // Superseded by a newer search
+        }
+        setSearchFailed(true);
+        if (received === null) {
+          setEvents([]); // Don't leave the previous search's results looking current
+        }
+      })
+      .finally(() => {
+        if (!controller.signal.aborted) {
+          setIsLoading(false);
+        }
+      });
+
+    return () => controller.abort();
+  }, [searchParams]);
 
   const handleSearch = (params: SearchParams) => {
     setSearchParams(params);
+    setIsLoading(true);
+    setSearchFailed(false);
     setSelectedEvent(null); // Clear selection on new search
   };
 
@@ -62,6 +88,12 @@ function App() {
             Loading events...
           </div>
         )}
+
+        {!isLoading && searchFailed && (
+          <div className="absolute top-4 left-1/2 -translate-x-1/2 z-50 bg-background/80 backdrop-blur px-4 py-2 rounded-full shadow-sm border border-destructive text-destructive text-sm">
+            {events.length > 0 ? 'Search failed; showing partial results' : 'Search failed'}
+          </div>
+        )}
       </div>
     </ThemeProvider>
   );
@@ -130,6 +130,24 @@ export function DetailPanel({ event, onClose }: DetailPanelProps) {
             </a>
           </Button>
 
+          {event.otherSources && event.otherSources.length > 0 && (
+            <div className="space-y-1 text-sm">
+              <div className="font-medium">Also listed on</div>
+              {event.otherSources.map((link) => (
+                <a
+                  key={`${link.source}-${link.id}`}
+                  href={link.url}
+                  target="_blank"
+                  rel="noopener noreferrer"
+                  className="flex items-center gap-1 text-muted-foreground hover:underline"
+                >
+                  {link.source.replace(/_/g, ' ')}
+                  <ExternalLink className="h-3 w-3" />
+                </a>
+              ))}
+            </div>
+          )}
+
         </CardContent>
       </ScrollArea>
     </Card>
@@ -1,5 +1,12 @@
 import axios from 'axios';
-import type { SearchParams, WazaiMapItem } from '@/types/api';
+import type {
+  MapCluster,
+  ProviderBatch,
+  SearchCompletion,
+  SearchPage,
+  SearchParams,
+  WazaiMapItem,
+} from '@/types/api';
 
 const api = axios.create({
   baseURL: '/api',
@@ -10,7 +17,72 @@ export const searchEvents = async (params: SearchParams = {}): Promise<WazaiMapI
   return data;
 };
 
+/**
+ * Fetches one page of search results; pass the returned nextCursor to get the following page.
+ */
+export const searchEventsPage = async (
+  params: SearchParams & { limit: number },
+): Promise<SearchPage> => {
+  const { data, headers } = await api.get<WazaiMapItem[]>('/search', { params });
+  return {
+    items: data,
+    nextCursor: headers['x-wazai-next-cursor'] ?? undefined,
+    totalItems: Number(headers['x-wazai-total-items'] ?? data.length),
+  };
+};
+
+/**
+ * Streams search results from /api/search/stream, calling onBatch as each provider finishes.
+ * Resolves with the per-provider statuses and the merged result once every provider is done,
+ * which supersedes the batches. Aborting the signal
+ * closes the stream, which cancels the search on the server, and rejects.
+ */
+export const streamSearchEvents = (
+  params: SearchParams,
+  onBatch: (batch: ProviderBatch) => void,
+  signal?: AbortSignal,
+): Promise<SearchCompletion> => {
+  const query = new URLSearchParams();
+  Object.entries(params).forEach(([key, value]) => {
+    if (value !== undefined && value !== '') {
+      query.set(key, String(value));
+    }
+  });
+
+  return new Promise((resolve, reject) => {
+    if (signal?.aborted) {
+      reject(signal.reason);
+      return;
+    }
+    const source = new EventSource(`/api/search/stream?${query}`);
+    signal?.addEventListener('abort', () => {
+      source.close();
+      reject(signal.reason);
+    });
+    source.addEventListener('batch', (event) => {
+      onBatch(JSON.parse((event as MessageEvent<string>).data));
+    });
+    source.addEventListener('complete', (event) => {
+      source.close();
+      resolve(JSON.parse((event as MessageEvent<string>).data));
+    });
+    source.onerror = () => {
+      source.close();
+      reject(new Error('Search stream failed'));
+    };
+  });
+};
+
 export const getProviders = async (): Promise<string[]> => {
   const { data } = await api.get<{ providers: string[] }>('/search/providers');
   return data.providers;
 };
+
+export const getClusters = async (
+  bbox: string,
+  zoom: number,
+  country: SearchParams['country'] = 'ALL',
+): Promise<MapCluster[]> => {
+  const { data } = await api.get<MapCluster[]>('/clusters', { params: { bbox, zoom, country } });
+  return data;
+};
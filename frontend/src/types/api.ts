@@ -24,6 +24,13 @@ export interface Coordinates {
   longitude: number;
 }
 
+/** Another provider's listing of a merged event */
+export interface SourceLink {
+  source: WazaiDataSource;
+  id: string;
+  url: string;
+}
+
 export interface WazaiMapItem {
   id: string;
   title: string;
@@ -36,10 +43,65 @@ export interface WazaiMapItem {
   eventType?: WazaiEventType;
   source: WazaiDataSource;
   country: WazaiCountry;
+  /** Listings of the same event on other providers */
+  otherSources?: SourceLink[];
 }
 
 export interface SearchParams {
   keyword?: string;
   country?: 'ALL' | 'TW' | 'JP';
   provider?: string;
+  /** Viewport as "minLat,minLng,maxLat,maxLng" */
+  bbox?: string;
+  /** Center point as "lat,lng" */
+  near?: string;
+  radiusKm?: number;
+  /** Earliest event start date as "YYYY-MM-DD", inclusive */
+  from?: string;
+  /** Latest event start date as "YYYY-MM-DD", inclusive */
+  to?: string;
+  sort?: 'default' | 'startTime' | 'distance' | 'relevance';
+  /** Page size; omit to get every item */
+  limit?: number;
+  /** Cursor of the page to fetch, from SearchPage.nextCursor */
+  cursor?: string;
+}
+
+export interface SearchPage {
+  items: WazaiMapItem[];
+  /** Cursor of the following page, or undefined on the last page */
+  nextCursor?: string;
+  totalItems: number;
+}
+
+export interface MapCluster {
+  /** Stable identifier in "zoom/x/y" form */
+  id: string;
+  coordinates: Coordinates;
+  count: number;
+  /** A few representative items, earliest events first */
+  items: WazaiMapItem[];
+}
+
+export type ProviderOutcome = 'OK' | 'FAILED' | 'TIMED_OUT' | 'SKIPPED' | 'CIRCUIT_OPEN';
+
+export interface ProviderStatus {
+  provider: string;
+  outcome: ProviderOutcome;
+  itemCount: number;
+  elapsedMillis: number;
+}
+
+/** One provider's items from a streamed search */
+export interface ProviderBatch {
+  provider: string;
+  items: WazaiMapItem[];
+}
+
+/** Final frame of a streamed search */
+export interface SearchCompletion {
+  providers: ProviderStatus[];
+  partial: boolean;
+  /** Combined result, with events listed by several providers merged */
+  items: WazaiMapItem[];
 }